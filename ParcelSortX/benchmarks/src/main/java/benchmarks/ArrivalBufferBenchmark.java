@@ -0,0 +1,53 @@
+package benchmarks;
+
+import data_sturcts.ArrivalBuffer;
+import main.Parcel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Bir tick'lik parcel dizisinin ArrivalBuffer'a eklenip boşaltılması
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrivalBufferBenchmark {
+
+    @Param({ "1024", "65536" })
+    int queueCapacity;
+
+    @Param({ "64", "4096" })
+    int parcelsPerTick;
+
+    @Param({ "SINGLE_PRODUCER", "MULTI_PRODUCER" })
+    ArrivalBuffer.Mode mode;
+
+    private ArrivalBuffer buffer;
+    private Parcel[] parcels;
+
+    @Setup
+    public void setup() {
+        buffer = new ArrivalBuffer(queueCapacity, mode);
+        parcels = BenchmarkData.parcels(BenchmarkData.cityNames(8), 0, parcelsPerTick, 42);
+    }
+
+    @Benchmark
+    public int enqueueAllDrain(Blackhole bh) {
+        int accepted = buffer.enqueueAll(parcels);
+        return buffer.drainTo(bh::consume, accepted);
+    }
+
+    @Benchmark
+    public void enqueueDequeue(Blackhole bh) {
+        int n = Math.min(parcels.length, buffer.getCapacity());
+        for (int i = 0; i < n; i++) {
+            buffer.enqueue(parcels[i]);
+        }
+        for (int i = 0; i < n; i++) {
+            bh.consume(buffer.dequeue());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package benchmarks;
+
+import main.ConfigManager;
+import main.Parcel;
+import main.SplitMix64;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Benchmark'lar için ortak deterministik veri
+final class BenchmarkData {
+    private static final Parcel.Size[] SIZES = Parcel.Size.values();
+
+    private BenchmarkData() {
+    }
+
+    static String[] cityNames(int cityCount) {
+        String[] cities = new String[cityCount];
+        for (int i = 0; i < cityCount; i++) {
+            cities[i] = "City" + i;
+        }
+        return cities;
+    }
+
+    // ID'leri firstId'den başlayan count adet parcel
+    static Parcel[] parcels(String[] cities, long firstId, int count, long seed) {
+        Parcel[] parcels = new Parcel[count];
+        for (int i = 0; i < count; i++) {
+            long id = firstId + i;
+            long bits = SplitMix64.at(seed, id);
+            parcels[i] = new Parcel(id, cities[SplitMix64.nextInt(bits, cities.length)],
+                    1 + SplitMix64.nextInt(SplitMix64.mix(bits), 3),
+                    SIZES[SplitMix64.nextInt(bits >>> 7, SIZES.length)], 0);
+        }
+        return parcels;
+    }
+
+    // ConfigManager yalnızca dosyadan okur; geçici bir config.txt yazılır
+    static ConfigManager config(int maxTicks, int queueCapacity, int cityCount,
+                                int parcelsPerTick, int dispatchPerTick) throws IOException {
+        Path file = Files.createTempFile("parcelsortx-bench", ".txt");
+        file.toFile().deleteOnExit();
+        String text = "MAX_TICKS=" + maxTicks + "\n"
+                + "QUEUE_CAPACITY=" + queueCapacity + "\n"
+                + "TERMINAL_ROTATION_INTERVAL=5\n"
+                + "PARCEL_PER_TICK_MIN=" + Math.max(1, parcelsPerTick / 2) + "\n"
+                + "PARCEL_PER_TICK_MAX=" + parcelsPerTick + "\n"
+                + "MISROUTING_RATE=0.1\n"
+                + "CITY_LIST=" + String.join(",", cityNames(cityCount)) + "\n"
+                + "DISPATCH_PER_TICK=" + dispatchPerTick + "\n"
+                + "SEED=42\n";
+        Files.writeString(file, text);
+        return new ConfigManager(file.toString());
+    }
+}
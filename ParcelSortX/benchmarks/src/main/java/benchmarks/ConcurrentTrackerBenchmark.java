@@ -0,0 +1,40 @@
+package benchmarks;
+
+import data_sturcts.CityIndex;
+import data_sturcts.ConcurrentParcelTracker;
+import data_sturcts.ParcelTracker.ParcelStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ConcurrentParcelTracker ölçeklenmesi: thread sayısı -t ile değiştirilir (ör. -t 1, 2, 4, 8)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentTrackerBenchmark {
+
+    @Param({ "16", "64" })
+    int shardCount;
+
+    private final AtomicLong nextId = new AtomicLong();
+    private ConcurrentParcelTracker tracker;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        tracker = new ConcurrentParcelTracker(new CityIndex(BenchmarkData.cityNames(5)), shardCount, 1 << 22);
+        nextId.set(0);
+    }
+
+    // Ekle ve yaşam döngüsünü tamamla: IN_QUEUE -> SORTED -> DISPATCHED
+    @Benchmark
+    public boolean insertAndDispatch() {
+        long id = nextId.getAndIncrement();
+        tracker.insert(id, ParcelStatus.IN_QUEUE, 0, (int) (id % 5), 1 + (int) (id % 3), 0);
+        tracker.compareAndSetStatus(id, ParcelStatus.IN_QUEUE, ParcelStatus.SORTED);
+        return tracker.compareAndSetStatus(id, ParcelStatus.SORTED, ParcelStatus.DISPATCHED);
+    }
+}
@@ -0,0 +1,83 @@
+package benchmarks;
+
+import data_sturcts.CityIndex;
+import data_sturcts.DestinationSorter;
+import main.Parcel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// DestinationSorter: toplu ekleme, kamyon yükü çekme, ID ile silme
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DestinationSorterBenchmark {
+
+    @Param({ "5", "81", "1000" })
+    int cityCount;
+
+    @Param({ "1000", "100000" })
+    int parcelCount;
+
+    private String[] names;
+    private Parcel[] parcels;
+    private Parcel[] truck;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        names = BenchmarkData.cityNames(cityCount);
+        parcels = BenchmarkData.parcels(names, 0, parcelCount, 42);
+        truck = new Parcel[64];
+    }
+
+    private DestinationSorter filledSorter() {
+        DestinationSorter sorter = new DestinationSorter(new CityIndex(names));
+        sorter.insertAll(parcels, 0, parcels.length);
+        return sorter;
+    }
+
+    @Benchmark
+    public DestinationSorter insert() {
+        DestinationSorter sorter = new DestinationSorter(new CityIndex(names));
+        for (Parcel parcel : parcels) {
+            sorter.insertParcel(parcel);
+        }
+        return sorter;
+    }
+
+    @Benchmark
+    public DestinationSorter insertAll() {
+        return filledSorter();
+    }
+
+    // Tüm parcel'ları şehir şehir 64'lük kamyonlarla boşaltır
+    @Benchmark
+    public int insertAndDrain(Blackhole bh) {
+        DestinationSorter sorter = filledSorter();
+        int drained = 0;
+        for (int cityId = 0; cityId < cityCount; cityId++) {
+            int taken;
+            while ((taken = sorter.pollBatch(cityId, truck.length, Integer.MAX_VALUE, truck, 0)) > 0) {
+                bh.consume(truck);
+                drained += taken;
+            }
+        }
+        return drained;
+    }
+
+    @Benchmark
+    public int insertAndRemove() {
+        DestinationSorter sorter = filledSorter();
+        int removed = 0;
+        for (Parcel parcel : parcels) {
+            if (sorter.removeParcel(parcel.getDestinationCity(), parcel.getNumericID())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+}
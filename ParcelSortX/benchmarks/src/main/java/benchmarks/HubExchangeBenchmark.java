@@ -0,0 +1,109 @@
+package benchmarks;
+
+import main.HubTransport;
+import main.Parcel;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// İki hub arası parcel değişimi: aynı JVM'de iki HubTransport gerçek localhost soketleri üzerinden
+// her tick'te birbirine PARCELS_PER_TICK parcel gönderir (karşı hub ayrı bir thread'de). Sonuç
+// hub başına saniyede gönderilen parcel; batchSize bir çerçevedeki en fazla kayıt sayısıdır.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HubExchangeBenchmark {
+    private static final int PARCELS_PER_TICK = 8192;
+    private static final int CITY_COUNT = 81;
+
+    @Param({ "16", "256", "4096" })
+    int batchSize;
+
+    @Param({ "TCP", "UNIX" })
+    HubTransport.Kind transport;
+
+    private Parcel[] parcels;
+    private HubTransport hub;
+    private HubTransport peer;
+    private Thread peerThread;
+    private Path socketDir;
+    private int tick;
+    private long received;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        parcels = BenchmarkData.parcels(BenchmarkData.cityNames(CITY_COUNT), 0, PARCELS_PER_TICK, 42);
+        socketDir = Files.createTempDirectory("parcelsortx-hub");
+        int basePort = freePortPair();
+
+        Thread connector = new Thread(() -> {
+            try {
+                peer = new HubTransport(transport, basePort, socketDir, 1, 2, batchSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        connector.start();
+        hub = new HubTransport(transport, basePort, socketDir, 0, 2, batchSize);
+        connector.join();
+
+        // Karşı hub kendi tick'lerini aynı sırayla gönderir; hub kapanınca bağlantı kopar ve döngü biter
+        peerThread = new Thread(() -> {
+            HubTransport.FrameSink ignore = (source, id, city, priority, size, returns, arrival, returned) -> { };
+            try {
+                for (int t = 0; ; t++) {
+                    peer.beginTick(t);
+                    sendAll(peer, 0);
+                    peer.exchange(ignore);
+                }
+            } catch (IOException e) {
+                // hub kapatıldı
+            }
+        }, "hub-peer");
+        peerThread.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        hub.close();
+        peerThread.join();
+        peer.close();
+        Files.deleteIfExists(socketDir);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PARCELS_PER_TICK)
+    public long exchangeTick() throws IOException {
+        hub.beginTick(tick++);
+        sendAll(hub, 1);
+        hub.exchange((source, id, city, priority, size, returns, arrival, returned) -> received++);
+        return received;
+    }
+
+    private void sendAll(HubTransport from, int to) {
+        for (int i = 0; i < parcels.length; i++) {
+            from.send(to, parcels[i], i % CITY_COUNT, false);
+        }
+    }
+
+    // TCP'de hub i, basePort + i'yi dinler: art arda iki boş port aranır
+    private static int freePortPair() throws IOException {
+        while (true) {
+            try (ServerSocket first = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+                new ServerSocket(first.getLocalPort() + 1, 1, InetAddress.getLoopbackAddress()).close();
+                return first.getLocalPort();
+            } catch (IOException | IllegalArgumentException e) {
+                // ikinci port dolu ya da aralık dışında, yeniden dene
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package benchmarks;
+
+import main.EventJournal;
+import main.JournalReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// EventJournal: tick başına eventsPerTick kayıt ekleme + commit, ve sıralı okuma
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JournalBenchmark {
+    private static final EventJournal.EventType[] TYPES = EventJournal.EventType.values();
+
+    @Param({ "16", "4096" })
+    int eventsPerTick;
+
+    private Path directory;
+    private EventJournal journal;
+    private int tick;
+
+    @Setup(Level.Iteration)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("parcelsortx-journal");
+        journal = new EventJournal(directory, 64 << 20, false);
+        tick = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public long appendTick() {
+        long base = (long) tick * eventsPerTick;
+        for (int i = 0; i < eventsPerTick; i++) {
+            journal.append(tick, base + i, TYPES[i & 3], i % 81, 0);
+        }
+        journal.commit();
+        tick++;
+        return journal.getRecordCount();
+    }
+
+    // Bir tick yazılır ve yalnızca o tick'in kayıtları geri okunur (replay senaryosu)
+    @Benchmark
+    public long appendAndReadTail(Blackhole bh) {
+        long from = journal.getRecordCount();
+        appendTick();
+        try {
+            return new JournalReader(directory).readFrom(from,
+                    (sequence, t, parcelID, type, cityId, terminal) -> bh.consume(parcelID));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package benchmarks;
+
+import data_sturcts.CityIndex;
+import data_sturcts.ParcelTracker;
+import data_sturcts.ParcelTracker.ParcelStatus;
+import main.Parcel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// ParcelTracker: toplu ekleme (önceden boyutlanmış ve resize ile büyüyen), arama, durum güncelleme
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParcelTrackerBenchmark {
+
+    @Param({ "5", "81" })
+    int cityCount;
+
+    @Param({ "10000", "1000000" })
+    int parcelCount;
+
+    private CityIndex cities;
+    private Parcel[] parcels;
+    private ParcelTracker filled;
+    private long[] lookupIds;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String[] names = BenchmarkData.cityNames(cityCount);
+        cities = new CityIndex(names);
+        parcels = BenchmarkData.parcels(names, 0, parcelCount, 42);
+        filled = new ParcelTracker(cities, parcelCount);
+        for (Parcel parcel : parcels) {
+            filled.insert(parcel, ParcelStatus.IN_QUEUE);
+        }
+        lookupIds = new long[1024];
+        for (int i = 0; i < lookupIds.length; i++) {
+            lookupIds[i] = (i * 0x9E3779B97F4A7C15L >>> 1) % parcelCount;
+        }
+    }
+
+    @Benchmark
+    public ParcelTracker insertPresized() {
+        ParcelTracker tracker = new ParcelTracker(cities, parcelCount);
+        for (Parcel parcel : parcels) {
+            tracker.insert(parcel, ParcelStatus.IN_QUEUE);
+        }
+        return tracker;
+    }
+
+    // Küçük tablodan başlar; bütün resize adımları ölçüme dahildir
+    @Benchmark
+    public ParcelTracker insertWithResize() {
+        ParcelTracker tracker = new ParcelTracker(cities, 0);
+        for (Parcel parcel : parcels) {
+            tracker.insert(parcel, ParcelStatus.IN_QUEUE);
+        }
+        return tracker;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public void lookup(Blackhole bh) {
+        for (long id : lookupIds) {
+            bh.consume(filled.getStatus(id));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public void updateStatus() {
+        for (long id : lookupIds) {
+            filled.updateStatus(id, ParcelStatus.SORTED, 0);
+        }
+    }
+
+    @Benchmark
+    public Object runningStatistics() {
+        return filled.getRunningStatistics().getDelayPercentile(99);
+    }
+}
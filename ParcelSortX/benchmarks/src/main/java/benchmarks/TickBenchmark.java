@@ -0,0 +1,72 @@
+package benchmarks;
+
+import main.ConfigManager;
+import main.PipelinedSimulation;
+import main.SimulationEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Tam simülasyon: tek tick, tek thread'li tam çalıştırma ve pipeline çalıştırması
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickBenchmark {
+    private static final int RUN_TICKS = 200;
+
+    @Param({ "5", "81" })
+    int cityCount;
+
+    @Param({ "30", "65536" })
+    int queueCapacity;
+
+    @Param({ "3", "1000" })
+    int parcelsPerTick;
+
+    private ConfigManager tickConfig;
+    private ConfigManager runConfig;
+    private SimulationEngine engine;
+
+    @Setup(Level.Trial)
+    public void setupConfig() throws IOException {
+        // MAX_TICKS yalnızca tracker'ın ön boyutunu belirler; tick() bunun ötesinde de çalışır
+        tickConfig = BenchmarkData.config(1000, queueCapacity, cityCount, parcelsPerTick, parcelsPerTick);
+        runConfig = BenchmarkData.config(RUN_TICKS, queueCapacity, cityCount, parcelsPerTick, parcelsPerTick);
+    }
+
+    // Tracker büyümesi ölçümü bozmasın diye her iterasyonda yeni motor
+    @Setup(Level.Iteration)
+    public void setupEngine() {
+        engine = new SimulationEngine(tickConfig);
+    }
+
+    @Benchmark
+    public long tick() {
+        engine.runTick();
+        return engine.getDispatchedParcels();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public long fullRun() {
+        SimulationEngine run = new SimulationEngine(runConfig);
+        run.run();
+        return run.getDispatchedParcels();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public long pipelinedRun() throws InterruptedException {
+        SimulationEngine run = new SimulationEngine(runConfig);
+        new PipelinedSimulation(run).run();
+        return run.getDispatchedParcels();
+    }
+}
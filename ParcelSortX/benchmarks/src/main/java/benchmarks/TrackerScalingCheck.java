@@ -0,0 +1,102 @@
+package benchmarks;
+
+import data_sturcts.CityIndex;
+import data_sturcts.ConcurrentParcelTracker;
+import data_sturcts.ParcelTracker.ParcelStatus;
+import data_sturcts.TrackerStatistics;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+// ConcurrentParcelTracker için 1..N thread ölçeklenme kontrolü (JMH değil, tek başına çalışır):
+//   java -cp benchmarks/target/benchmarks.jar benchmarks.TrackerScalingCheck [maxThreads] [opsPerThread] [minEfficiency]
+// Her thread kendi ID aralığındaki parcel'ları ekler ve IN_QUEUE -> SORTED -> DISPATCHED geçirir.
+// Her thread sayısı için sonuçlar (sayılar, durumlar) doğrulanır; çekirdek sayısını aşmayan thread
+// sayılarında hızlanma t * minEfficiency'nin altındaysa kontrol başarısız olur (çıkış kodu 1).
+public class TrackerScalingCheck {
+    private static final int CITY_COUNT = 5;
+    private static final int SHARD_COUNT = 64;
+    private static final int REPEATS = 3; // her ölçümün en iyisi alınır, gürültü azalır
+
+    public static void main(String[] args) throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int maxThreads = (args.length > 0) ? Integer.parseInt(args[0]) : Math.max(2, cores);
+        int opsPerThread = (args.length > 1) ? Integer.parseInt(args[1]) : 200_000;
+        double minEfficiency = (args.length > 2) ? Double.parseDouble(args[2]) : 0.5;
+
+        System.out.printf("Cores: %d, ops/thread: %d, shards: %d%n", cores, opsPerThread, SHARD_COUNT);
+        System.out.printf("%8s %14s %9s %s%n", "threads", "parcels/s", "speedup", "check");
+        boolean passed = true;
+        double baseline = 0;
+        // 1, 2, 4, ... ve son olarak maxThreads
+        for (int threads = 1; threads <= maxThreads; threads = (threads == maxThreads) ? threads + 1
+                : Math.min(threads * 2, maxThreads)) {
+            double best = 0;
+            for (int r = 0; r < REPEATS; r++) {
+                best = Math.max(best, run(threads, opsPerThread));
+            }
+            if (threads == 1) {
+                baseline = best;
+            }
+            double speedup = best / baseline;
+            String check;
+            if (threads > cores) {
+                check = "not checked (more threads than cores)";
+            } else if (speedup + 1e-9 < threads * minEfficiency) {
+                check = String.format("FAIL (expected >= %.2f)", threads * minEfficiency);
+                passed = false;
+            } else {
+                check = "ok";
+            }
+            System.out.printf("%8d %14.0f %9.2f %s%n", threads, best, speedup, check);
+        }
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    // Saniyede tamamlanan parcel yaşam döngüsü; sonuç tutarsızsa IllegalStateException
+    private static double run(int threads, int opsPerThread) throws InterruptedException {
+        ConcurrentParcelTracker tracker = new ConcurrentParcelTracker(
+                new CityIndex(BenchmarkData.cityNames(CITY_COUNT)), SHARD_COUNT, (long) threads * opsPerThread);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            long firstId = (long) t * opsPerThread;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (long id = firstId; id < firstId + opsPerThread; id++) {
+                        tracker.insert(id, ParcelStatus.IN_QUEUE, 0, (int) (id % CITY_COUNT), 1 + (int) (id % 3), 0);
+                        if (!tracker.compareAndSetStatus(id, ParcelStatus.IN_QUEUE, ParcelStatus.SORTED)
+                                || !tracker.compareAndSetStatus(id, ParcelStatus.SORTED, ParcelStatus.DISPATCHED)) {
+                            throw new IllegalStateException("Status transition lost for parcel P" + id);
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }, "tracker-worker-" + t);
+            workers[t].start();
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - began;
+        if (failure.get() != null) {
+            throw new IllegalStateException("Worker failed with " + threads + " threads", failure.get());
+        }
+
+        long expected = (long) threads * opsPerThread;
+        TrackerStatistics stats = tracker.snapshotStatistics();
+        if (tracker.size() != expected || stats.getStatusCount(ParcelStatus.DISPATCHED) != expected) {
+            throw new IllegalStateException(String.format("Expected %d dispatched parcels with %d threads, found size %d,"
+                    + " dispatched %d", expected, threads, tracker.size(), stats.getStatusCount(ParcelStatus.DISPATCHED)));
+        }
+        return expected / (elapsed / 1e9);
+    }
+}
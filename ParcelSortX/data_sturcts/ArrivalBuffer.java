@@ -1,94 +1,260 @@
-package data_sturcts;
-import main.Parcel;
-
-public class ArrivalBuffer {
-    private class Node {
-        Parcel data;
-        Node next;
-
-        public Node(Parcel data) {
-            this.data = data;
-            this.next = null;
-        }
-    }
-
-    private Node front;
-    private Node rear;
-    private int size;
-    private final int capacity;
-
-    public ArrivalBuffer(int capacity) {
-        this.capacity = capacity;
-        this.front = this.rear = null;
-        this.size = 0;
-    }
-
-    // Ekleme (enqueue)
-    public boolean enqueue(Parcel parcel) {
-        if (isFull()) {
-            System.err.println("Queue overflow! Parcel discarded: " + parcel.getParcelID());
-            return false;
-        }
-
-        Node newNode = new Node(parcel);
-
-        if (isEmpty()) {
-            front = rear = newNode;
-        } else {
-            rear.next = newNode;
-            rear = newNode;
-        }
-
-        size++;
-        return true;
-    }
-
-    // Çıkarma (dequeue)
-    public Parcel dequeue() {
-        if (isEmpty()) {
-            System.err.println("Queue underflow! No parcels to process.");
-            return null;
-        }
-
-        Parcel removed = front.data;
-        front = front.next;
-        size--;
-
-        if (front == null)
-            rear = null; // Son elemandıysa rear da null olur
-
-        return removed;
-    }
-
-    // Sıradaki parcel'ı göster ama çıkarma
-    public Parcel peek() {
-        return isEmpty() ? null : front.data;
-    }
-
-    public boolean isFull() {
-        return size >= capacity;
-    }
-
-    public boolean isEmpty() {
-        return size == 0;
-    }
-
-    public int size() {
-        return size;
-    }
-
-    public int getCapacity() {
-        return capacity;
-    }
-
-    // Debug amaçlı: kuyruğu yazdır
-    public void printQueue() {
-        Node temp = front;
-        System.out.print("ArrivalBuffer [size=" + size + "]: ");
-        while (temp != null) {
-            System.out.print(temp.data.getParcelID() + " -> ");
-            temp = temp.next;
-        }
-        System.out.println("null");
-    }
-}
+package data_sturcts;
+import main.Parcel;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+public class ArrivalBuffer {
+
+    // SINGLE_PRODUCER: bir üretici + bir tüketici (varsayılan)
+    // MULTI_PRODUCER: birden fazla üretici thread'i + bir tüketici
+    public enum Mode {
+        SINGLE_PRODUCER,
+        MULTI_PRODUCER
+    }
+
+    // Taşma bildirimi: her parcel için log satırı yerine çağrılır
+    public interface OverflowListener {
+        void onOverflow(Parcel parcel);
+    }
+
+    // Ring dizisi 2'nin kuvveti boyutunda, index = sequence & mask
+    private final Parcel[] ring;
+    private final int mask;
+    private final int capacity;
+    private final Mode mode;
+
+    // head: tüketicinin sıradaki okuma sırası, tail: üreticinin sıradaki yazma sırası
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    // Sadece MULTI_PRODUCER modunda: slot'un yayınlandığını gösteren sequence numaraları
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong overflowCount = new AtomicLong();
+    private volatile OverflowListener overflowListener;
+
+    public ArrivalBuffer(int capacity) {
+        this(capacity, Mode.SINGLE_PRODUCER);
+    }
+
+    public ArrivalBuffer(int capacity, Mode mode) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid queue capacity: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mode = mode;
+
+        int ringSize = Integer.highestOneBit(capacity);
+        if (ringSize < capacity) {
+            ringSize <<= 1;
+        }
+        this.ring = new Parcel[ringSize];
+        this.mask = ringSize - 1;
+
+        if (mode == Mode.MULTI_PRODUCER) {
+            sequences = new AtomicLongArray(ringSize);
+            for (int i = 0; i < ringSize; i++) {
+                sequences.set(i, i);
+            }
+        } else {
+            sequences = null;
+        }
+    }
+
+    // Ekleme (enqueue)
+    public boolean enqueue(Parcel parcel) {
+        boolean accepted = (mode == Mode.MULTI_PRODUCER) ? offerMulti(parcel) : offerSingle(parcel);
+        if (!accepted) {
+            reportOverflow(parcel);
+        }
+        return accepted;
+    }
+
+    private boolean offerSingle(Parcel parcel) {
+        long t = tail.get();
+        if (t - head.get() >= capacity) {
+            return false;
+        }
+        ring[(int) t & mask] = parcel;
+        tail.lazySet(t + 1); // yazılan slot'u tüketiciye yayınla
+        return true;
+    }
+
+    private boolean offerMulti(Parcel parcel) {
+        while (true) {
+            long t = tail.get();
+            if (t - head.get() >= capacity) {
+                return false;
+            }
+            int index = (int) t & mask;
+            long seq = sequences.get(index);
+            if (seq == t) {
+                if (tail.compareAndSet(t, t + 1)) {
+                    ring[index] = parcel;
+                    sequences.lazySet(index, t + 1);
+                    return true;
+                }
+            } else if (seq < t) {
+                return false; // slot henüz tüketilmedi: kuyruk dolu
+            }
+            // seq > t: başka bir üretici ilerledi, tekrar dene
+        }
+    }
+
+    // Bir tick'te üretilen parcel dizisini toplu ekler, kabul edilen sayıyı döner
+    public int enqueueAll(Parcel[] parcels) {
+        return enqueueAll(parcels, 0, parcels.length);
+    }
+
+    public int enqueueAll(Parcel[] parcels, int offset, int length) {
+        int accepted;
+        if (mode == Mode.MULTI_PRODUCER) {
+            accepted = 0;
+            while (accepted < length && offerMulti(parcels[offset + accepted])) {
+                accepted++;
+            }
+        } else {
+            // Tek üretici: boş alanı bir kez hesapla, tek seferde yayınla
+            long t = tail.get();
+            int free = (int) (capacity - (t - head.get()));
+            accepted = Math.min(free, length);
+            for (int i = 0; i < accepted; i++) {
+                ring[(int) (t + i) & mask] = parcels[offset + i];
+            }
+            tail.lazySet(t + accepted);
+        }
+
+        for (int i = accepted; i < length; i++) {
+            reportOverflow(parcels[offset + i]);
+        }
+        return accepted;
+    }
+
+    // Çıkarma (dequeue)
+    public Parcel dequeue() {
+        long h = head.get();
+        int index = (int) h & mask;
+        if (mode == Mode.MULTI_PRODUCER) {
+            if (sequences.get(index) != h + 1) {
+                return null; // boş ya da slot henüz yayınlanmadı
+            }
+        } else if (h >= tail.get()) {
+            return null;
+        }
+
+        Parcel removed = ring[index];
+        ring[index] = null;
+        if (mode == Mode.MULTI_PRODUCER) {
+            sequences.lazySet(index, h + mask + 1); // slot'u bir sonraki tura aç
+        }
+        head.lazySet(h + 1);
+        return removed;
+    }
+
+    // En fazla max parcel'ı sink'e aktarır, aktarılan sayıyı döner
+    public int drainTo(Consumer<? super Parcel> sink, int max) {
+        long h = head.get();
+        int drained = 0;
+
+        if (mode == Mode.MULTI_PRODUCER) {
+            while (drained < max) {
+                int index = (int) h & mask;
+                if (sequences.get(index) != h + 1) {
+                    break;
+                }
+                Parcel p = ring[index];
+                ring[index] = null;
+                sequences.lazySet(index, h + mask + 1);
+                h++;
+                drained++;
+                sink.accept(p);
+            }
+        } else {
+            int available = (int) Math.min(tail.get() - h, max);
+            for (; drained < available; drained++) {
+                int index = (int) (h + drained) & mask;
+                Parcel p = ring[index];
+                ring[index] = null;
+                sink.accept(p);
+            }
+            h += drained;
+        }
+
+        head.lazySet(h);
+        return drained;
+    }
+
+    // Sıradaki parcel'ı göster ama çıkarma
+    public Parcel peek() {
+        long h = head.get();
+        int index = (int) h & mask;
+        if (mode == Mode.MULTI_PRODUCER) {
+            return sequences.get(index) == h + 1 ? ring[index] : null;
+        }
+        return h < tail.get() ? ring[index] : null;
+    }
+
+    private void reportOverflow(Parcel parcel) {
+        overflowCount.incrementAndGet();
+        OverflowListener listener = overflowListener;
+        if (listener != null) {
+            listener.onOverflow(parcel);
+        }
+    }
+
+    public void setOverflowListener(OverflowListener listener) {
+        this.overflowListener = listener;
+    }
+
+    public long getOverflowCount() {
+        return overflowCount.get();
+    }
+
+    public boolean isFull() {
+        return size() >= capacity;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Kuyruktaki parcel'ları çıkarmadan, FIFO sırasıyla kopyalar (üretici/tüketici dururken)
+    public int copyTo(Parcel[] out) {
+        long h = head.get();
+        int count = size();
+        for (int i = 0; i < count; i++) {
+            out[i] = ring[(int) (h + i) & mask];
+        }
+        return count;
+    }
+
+    public int size() {
+        long h = head.get();
+        long t = tail.get();
+        return (int) Math.max(0, Math.min(t - h, capacity));
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    // Debug amaçlı: kuyruğu yazdır (eşzamanlı üretici yokken çağrılmalı)
+    public void printQueue() {
+        long h = head.get();
+        long t = tail.get();
+        System.out.print("ArrivalBuffer [size=" + size() + "]: ");
+        for (long i = h; i < t; i++) {
+            Parcel p = ring[(int) i & mask];
+            if (p != null) {
+                System.out.print(p.getParcelID() + " -> ");
+            }
+        }
+        System.out.println("null");
+    }
+}
@@ -0,0 +1,86 @@
+package data_sturcts;
+
+import main.Parcel;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Şehir adlarını yoğun (0..n-1) tamsayı ID'lere eşler.
+// Her şehir bir kez çözülür; sonrasında yapılar dizi indeksi olarak ID kullanır.
+public class CityIndex {
+    private final Map<String, Integer> exactIds = new HashMap<>();
+    private final Map<String, Integer> foldedIds = new HashMap<>(); // büyük/küçük harf duyarsız
+    private String[] names = new String[8];
+    private int count;
+
+    public CityIndex() {
+    }
+
+    public CityIndex(String[] cityList) {
+        for (String city : cityList) {
+            register(city);
+        }
+    }
+
+    // Şehri kaydeder (zaten varsa mevcut ID'yi döner)
+    public int register(String city) {
+        int id = idOf(city);
+        if (id >= 0) {
+            return id;
+        }
+        if (city == null || city.trim().isEmpty()) {
+            throw new IllegalArgumentException("Invalid destination city");
+        }
+        if (count == Short.MAX_VALUE) {
+            throw new IllegalStateException("Too many cities: " + count);
+        }
+
+        id = count++;
+        if (id == names.length) {
+            names = Arrays.copyOf(names, names.length * 2);
+        }
+        names[id] = city;
+        exactIds.put(city, id);
+        foldedIds.put(city.toLowerCase(Locale.ROOT), id);
+        return id;
+    }
+
+    // Kayıtlı değilse -1 döner
+    public int idOf(String city) {
+        if (city == null) {
+            return -1;
+        }
+        Integer id = exactIds.get(city);
+        if (id == null) {
+            id = foldedIds.get(city.toLowerCase(Locale.ROOT));
+        }
+        return (id != null) ? id : -1;
+    }
+
+    // Parcel bu index'in ordinal'ini taşıyorsa (aynı String nesnesi) hash'lemeden döner
+    public int idOf(Parcel parcel) {
+        int id = parcel.getCityId();
+        if (id >= 0 && id < count && names[id] == parcel.getDestinationCity()) {
+            return id;
+        }
+        return idOf(parcel.getDestinationCity());
+    }
+
+    public int register(Parcel parcel) {
+        int id = idOf(parcel);
+        return (id >= 0) ? id : register(parcel.getDestinationCity());
+    }
+
+    public String nameOf(int id) {
+        if (id < 0 || id >= count) {
+            throw new IllegalArgumentException("Unknown city id: " + id);
+        }
+        return names[id];
+    }
+
+    public int size() {
+        return count;
+    }
+}
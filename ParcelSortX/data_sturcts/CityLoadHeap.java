@@ -0,0 +1,86 @@
+package data_sturcts;
+
+import java.util.Arrays;
+
+// Şehir ID'leri üzerinde indeksli max-heap: anahtar = şehirdeki parcel sayısı.
+// Yük değişimi O(log n), en yoğun şehir O(1) okunur.
+final class CityLoadHeap {
+    private int[] heap = new int[8];     // heap sırası -> şehir ID
+    private int[] position = new int[8]; // şehir ID -> heap sırası
+    private int[] load = new int[8];     // şehir ID -> parcel sayısı
+    private int size;
+
+    // Şehri heap'e ekler (yük 0 ile)
+    void add(int cityId) {
+        if (cityId >= position.length) {
+            int length = Math.max(position.length * 2, cityId + 1);
+            position = Arrays.copyOf(position, length);
+            load = Arrays.copyOf(load, length);
+        }
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        heap[size] = cityId;
+        position[cityId] = size;
+        load[cityId] = 0;
+        size++;
+    }
+
+    void update(int cityId, int newLoad) {
+        int oldLoad = load[cityId];
+        load[cityId] = newLoad;
+        if (newLoad > oldLoad) {
+            siftUp(position[cityId]);
+        } else if (newLoad < oldLoad) {
+            siftDown(position[cityId]);
+        }
+    }
+
+    int load(int cityId) {
+        return load[cityId];
+    }
+
+    // Yükü 0'dan büyük en yoğun şehir, yoksa -1
+    int busiest() {
+        return (size > 0 && load[heap[0]] > 0) ? heap[0] : -1;
+    }
+
+    private void siftUp(int index) {
+        int cityId = heap[index];
+        int key = load[cityId];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            int parentCity = heap[parent];
+            if (load[parentCity] >= key) {
+                break;
+            }
+            heap[index] = parentCity;
+            position[parentCity] = index;
+            index = parent;
+        }
+        heap[index] = cityId;
+        position[cityId] = index;
+    }
+
+    private void siftDown(int index) {
+        int cityId = heap[index];
+        int key = load[cityId];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && load[heap[right]] > load[heap[child]]) {
+                child = right;
+            }
+            int childCity = heap[child];
+            if (key >= load[childCity]) {
+                break;
+            }
+            heap[index] = childCity;
+            position[childCity] = index;
+            index = child;
+        }
+        heap[index] = cityId;
+        position[cityId] = index;
+    }
+}
@@ -0,0 +1,195 @@
+package data_sturcts;
+
+import java.util.Arrays;
+import main.Parcel;
+
+// Tek bir şehrin dağıtım kuyruğu: öncelik başına bir FIFO şeridi (lane).
+// Şeritler slot dizileri üzerinde çift yönlü bağlı listedir; parcelID -> slot
+// haritası sayesinde ortadan silme O(1), boşalan slot'lar serbest listeye döner,
+// ekleme başına düğüm nesnesi oluşturulmaz.
+final class CityQueue {
+    private static final int NIL = -1;
+
+    // Öncelik 3 en yüksek: lane 0 = öncelik 3, lane 2 = öncelik 1
+    static final int LANES = 3;
+
+    private Parcel[] parcels;
+    private int[] next;
+    private int[] prev;
+    private byte[] lane;
+    private byte[] volume;
+    private final int[] head = { NIL, NIL, NIL };
+    private final int[] tail = { NIL, NIL, NIL };
+    private int freeHead = NIL;
+    private int used;   // hiç kullanılmamış ilk slot
+    private int size;
+
+    private final LongIntMap slotByParcel;
+
+    CityQueue() {
+        parcels = new Parcel[16];
+        next = new int[16];
+        prev = new int[16];
+        lane = new byte[16];
+        volume = new byte[16];
+        slotByParcel = new LongIntMap(16);
+    }
+
+    static int laneOf(int priority) {
+        return 3 - Math.max(1, Math.min(3, priority));
+    }
+
+    void add(Parcel parcel) {
+        if (slotByParcel.get(parcel.getNumericID()) >= 0) {
+            throw new IllegalStateException("Parcel already sorted: " + parcel.getParcelID());
+        }
+        int slot = allocateSlot();
+        slotByParcel.put(parcel.getNumericID(), slot);
+
+        int l = laneOf(parcel.getPriority());
+        parcels[slot] = parcel;
+        lane[slot] = (byte) l;
+        volume[slot] = (byte) parcel.getSize().getVolume();
+        next[slot] = NIL;
+        prev[slot] = tail[l];
+        if (tail[l] == NIL) {
+            head[l] = slot;
+        } else {
+            next[tail[l]] = slot;
+        }
+        tail[l] = slot;
+        size++;
+    }
+
+    // En yüksek öncelikli boş olmayan şeridin başı
+    private int firstSlot() {
+        for (int l = 0; l < LANES; l++) {
+            if (head[l] != NIL) {
+                return head[l];
+            }
+        }
+        return NIL;
+    }
+
+    Parcel peek() {
+        int slot = firstSlot();
+        return slot == NIL ? null : parcels[slot];
+    }
+
+    Parcel poll() {
+        int slot = firstSlot();
+        if (slot == NIL) {
+            return null;
+        }
+        Parcel parcel = parcels[slot];
+        slotByParcel.remove(parcel.getNumericID());
+        unlink(slot);
+        return parcel;
+    }
+
+    // Şeritleri öncelik sırasıyla boşaltır; sıradaki parcel sayı ya da hacim
+    // sınırını aşacaksa durur (öne geçme yok). Alınan parcel sayısını döner.
+    int pollBatch(Parcel[] out, int offset, int maxCount, int maxVolume) {
+        int taken = 0;
+        int loaded = 0;
+        boolean truckFull = false;
+        for (int l = 0; l < LANES && taken < maxCount && !truckFull; l++) {
+            int slot = head[l];
+            while (slot != NIL && taken < maxCount) {
+                int v = volume[slot];
+                if (loaded + v > maxVolume) {
+                    truckFull = true;
+                    break;
+                }
+                loaded += v;
+                Parcel parcel = parcels[slot];
+                out[offset + taken++] = parcel;
+                slotByParcel.remove(parcel.getNumericID());
+
+                int following = next[slot];
+                releaseSlot(slot);
+                size--;
+                slot = following;
+            }
+            // Şeridin alınan ön kısmını tek seferde kopar
+            head[l] = slot;
+            if (slot == NIL) {
+                tail[l] = NIL;
+            } else {
+                prev[slot] = NIL;
+            }
+        }
+        return taken;
+    }
+
+    // parcelID ile O(1) silme
+    Parcel remove(long parcelID) {
+        int slot = slotByParcel.remove(parcelID);
+        if (slot < 0) {
+            return null;
+        }
+        Parcel parcel = parcels[slot];
+        unlink(slot);
+        return parcel;
+    }
+
+    private void unlink(int slot) {
+        int l = lane[slot];
+        int p = prev[slot];
+        int n = next[slot];
+        if (p == NIL) {
+            head[l] = n;
+        } else {
+            next[p] = n;
+        }
+        if (n == NIL) {
+            tail[l] = p;
+        } else {
+            prev[n] = p;
+        }
+        releaseSlot(slot);
+        size--;
+    }
+
+    private int allocateSlot() {
+        if (freeHead != NIL) {
+            int slot = freeHead;
+            freeHead = next[slot];
+            return slot;
+        }
+        if (used == parcels.length) {
+            int length = parcels.length * 2;
+            parcels = Arrays.copyOf(parcels, length);
+            next = Arrays.copyOf(next, length);
+            prev = Arrays.copyOf(prev, length);
+            lane = Arrays.copyOf(lane, length);
+            volume = Arrays.copyOf(volume, length);
+        }
+        return used++;
+    }
+
+    private void releaseSlot(int slot) {
+        parcels[slot] = null;
+        next[slot] = freeHead;
+        freeHead = slot;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Dağıtım sırasıyla (öncelik, sonra FIFO) kopyalar
+    int copyTo(Parcel[] target) {
+        int count = 0;
+        for (int l = 0; l < LANES; l++) {
+            for (int slot = head[l]; slot != NIL; slot = next[slot]) {
+                target[count++] = parcels[slot];
+            }
+        }
+        return count;
+    }
+}
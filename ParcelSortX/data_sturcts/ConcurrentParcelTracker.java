@@ -0,0 +1,200 @@
+package data_sturcts;
+
+import main.Parcel;
+import main.SimulationClock;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+// Birden fazla sıralama hattının (thread) paylaştığı ParcelTracker.
+// Parcel ID hash'ine göre shard'lara bölünür, her shard'ın kendi kilidi vardır
+// (lock striping); farklı shard'lara giden işlemler birbirini beklemez.
+public class ConcurrentParcelTracker {
+
+    private final ParcelTracker[] shards;
+    private final ReentrantLock[] locks;
+    private final int shardMask;
+    private final CityIndex cities;
+
+    // Şehirler önceden kaydedilmiş olmalı: CityIndex eşzamanlı kayıt için güvenli değil
+    public ConcurrentParcelTracker(CityIndex cities, int shardCount, long expectedParcels) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Invalid shard count: " + shardCount);
+        }
+        int count = Integer.highestOneBit(shardCount);
+        if (count < shardCount) {
+            count <<= 1;
+        }
+
+        this.cities = cities;
+        this.shards = new ParcelTracker[count];
+        this.locks = new ReentrantLock[count];
+        this.shardMask = count - 1;
+        for (int i = 0; i < count; i++) {
+            shards[i] = new ParcelTracker(cities, expectedParcels / count);
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public ConcurrentParcelTracker(CityIndex cities) {
+        this(cities, Runtime.getRuntime().availableProcessors() * 4, 0);
+    }
+
+    // Shard seçimi ParcelTracker'ın slot hash'inden bağımsız bir karıştırma kullanır
+    private int shardOf(long parcelID) {
+        long h = parcelID ^ (parcelID >>> 33);
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h & shardMask;
+    }
+
+    public void insert(long parcelID, ParcelTracker.ParcelStatus status, int arrivalTick,
+                       int cityId, int priority, int sizeOrdinal) {
+        int shard = shardOf(parcelID);
+        ReentrantLock lock = locks[shard];
+        lock.lock();
+        try {
+            shards[shard].insert(parcelID, status, arrivalTick, cityId, priority, sizeOrdinal);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void insert(Parcel parcel, ParcelTracker.ParcelStatus status) {
+        int cityId = cities.idOf(parcel);
+        if (cityId < 0) {
+            throw new IllegalArgumentException("Invalid destination city");
+        }
+        insert(parcel.getNumericID(), status, parcel.getArrivalTick(), cityId,
+                parcel.getPriority(), parcel.getSize().ordinal());
+    }
+
+    // Dispatch tick'i bağlı saatten okunur (attachClock); saat yoksa 0 olur
+    public void updateStatus(long parcelID, ParcelTracker.ParcelStatus newStatus) {
+        int shard = shardOf(parcelID);
+        ReentrantLock lock = locks[shard];
+        lock.lock();
+        try {
+            shards[shard].updateStatus(parcelID, newStatus);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Tick'i açıkça verilen güncelleme (saatten bağımsız, sonradan uygulanan olaylar için)
+    public void updateStatus(long parcelID, ParcelTracker.ParcelStatus newStatus, int tick) {
+        int shard = shardOf(parcelID);
+        ReentrantLock lock = locks[shard];
+        lock.lock();
+        try {
+            shards[shard].updateStatus(parcelID, newStatus, tick);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Atomik durum geçişi: sadece mevcut durum expected ise uygular
+    public boolean compareAndSetStatus(long parcelID, ParcelTracker.ParcelStatus expected,
+                                       ParcelTracker.ParcelStatus newStatus) {
+        int shard = shardOf(parcelID);
+        ReentrantLock lock = locks[shard];
+        lock.lock();
+        try {
+            return shards[shard].compareAndSetStatus(parcelID, expected, newStatus);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void incrementReturnCount(long parcelID) {
+        int shard = shardOf(parcelID);
+        ReentrantLock lock = locks[shard];
+        lock.lock();
+        try {
+            shards[shard].incrementReturnCount(parcelID);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public ParcelTracker.ParcelStatus getStatus(long parcelID) {
+        int shard = shardOf(parcelID);
+        ReentrantLock lock = locks[shard];
+        lock.lock();
+        try {
+            return shards[shard].getStatus(parcelID);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getReturnCount(long parcelID) {
+        int shard = shardOf(parcelID);
+        ReentrantLock lock = locks[shard];
+        lock.lock();
+        try {
+            return shards[shard].getReturnCount(parcelID);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean exists(long parcelID) {
+        int shard = shardOf(parcelID);
+        ReentrantLock lock = locks[shard];
+        lock.lock();
+        try {
+            return shards[shard].exists(parcelID);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Shard'lar sırayla (tek tek) kilitlenir; global kilit yoktur,
+    // bu yüzden sonuç shard bazında tutarlı, toplamda yaklaşık anlık görüntüdür.
+    public TrackerStatistics snapshotStatistics() {
+        TrackerStatistics stats = new TrackerStatistics();
+        for (int i = 0; i < shards.length; i++) {
+            locks[i].lock();
+            try {
+                shards[i].collectStatistics(stats);
+            } finally {
+                locks[i].unlock();
+            }
+        }
+        return stats;
+    }
+
+    public String getStatistics() {
+        return snapshotStatistics().toReport();
+    }
+
+    public long size() {
+        long total = 0;
+        for (int i = 0; i < shards.length; i++) {
+            locks[i].lock();
+            try {
+                total += shards[i].size();
+            } finally {
+                locks[i].unlock();
+            }
+        }
+        return total;
+    }
+
+    // Tüm shard'lar aynı saati okur; her shard kendi kilidi altında bağlanır ki
+    // sonradan o kilidi alan thread'ler saati görsün
+    public void attachClock(SimulationClock clock) {
+        for (int i = 0; i < shards.length; i++) {
+            locks[i].lock();
+            try {
+                shards[i].attachClock(clock);
+            } finally {
+                locks[i].unlock();
+            }
+        }
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+}
@@ -1,134 +1,252 @@
-package data_structs;
-
-import java.util.LinkedList;
-import java.util.Queue;
-import Parcel;
-
-public class DestinationSorter {
-
-    private class Node {
-        String cityName;
-        Queue<Parcel> parcelList;
-        Node left, right;
-
-        Node(String cityName) {
-            this.cityName = cityName;
-            this.parcelList = new LinkedList<>();
-            this.left = null;
-            this.right = null;
-        }
-    }
-
-    private Node root;
-
-    public DestinationSorter() {
-        root = null;
-    }
-
-    // 🟢 Parcel ekleme
-    public void insertParcel(Parcel parcel) {
-        root = insertParcelRecursive(root, parcel);
-    }
-
-    private Node insertParcelRecursive(Node node, Parcel parcel) {
-        if (node == null) {
-            Node newNode = new Node(parcel.destinationCity);
-            newNode.parcelList.add(parcel);
-            return newNode;
-        }
-
-        int compare = parcel.destinationCity.compareToIgnoreCase(node.cityName);
-        if (compare < 0) {
-            node.left = insertParcelRecursive(node.left, parcel);
-        } else if (compare > 0) {
-            node.right = insertParcelRecursive(node.right, parcel);
-        } else {
-            // Aynı şehirse kuyruğa ekle
-            node.parcelList.add(parcel);
-        }
-        return node;
-    }
-
-    // 🟡 Belirli bir şehir için kuyruktaki tüm kargoları al
-    public Queue<Parcel> getCityParcels(String city) {
-        Node node = search(root, city);
-        return (node != null) ? node.parcelList : null;
-    }
-
-    private Node search(Node node, String city) {
-        if (node == null) return null;
-        int compare = city.compareToIgnoreCase(node.cityName);
-        if (compare < 0) return search(node.left, city);
-        else if (compare > 0) return search(node.right, city);
-        else return node;
-    }
-
-    // 🔴 Belirli şehirden bir parcel sil (kargo gönderildikten sonra)
-    public boolean removeParcel(String city, String parcelID) {
-        Node node = search(root, city);
-        if (node != null && !node.parcelList.isEmpty()) {
-            for (Parcel p : node.parcelList) {
-                if (p.parcelID.equals(parcelID)) {
-                    node.parcelList.remove(p);
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
-    // 🟢 Şehir adına göre alfabetik sıralı BST dolaşımı
-    public void inOrderTraversal() {
-        inOrderRecursive(root);
-    }
-
-    private void inOrderRecursive(Node node) {
-        if (node != null) {
-            inOrderRecursive(node.left);
-            System.out.println("City: " + node.cityName + " | Parcel Count: " + node.parcelList.size());
-            inOrderRecursive(node.right);
-        }
-    }
-
-    // 🔍 Şehirde kaç kargo var?
-    public int countCityParcels(String city) {
-        Node node = search(root, city);
-        return (node != null) ? node.parcelList.size() : 0;
-    }
-
-    // 🌳 BST yüksekliği
-    public int getHeight() {
-        return calculateHeight(root);
-    }
-
-    private int calculateHeight(Node node) {
-        if (node == null) return 0;
-        return 1 + Math.max(calculateHeight(node.left), calculateHeight(node.right));
-    }
-
-    // 📊 Toplam şehir (düğüm) sayısı
-    public int getCityCount() {
-        return countNodes(root);
-    }
-
-    private int countNodes(Node node) {
-        if (node == null) return 0;
-        return 1 + countNodes(node.left) + countNodes(node.right);
-    }
-
-    // 🚩 En çok yüke sahip şehir (en fazla parcel içeren node)
-    public String getBusiestCity() {
-        return findMaxCity(root, null, 0);
-    }
-
-    private String findMaxCity(Node node, String maxCity, int maxCount) {
-        if (node == null) return maxCity;
-        if (node.parcelList.size() > maxCount) {
-            maxCity = node.cityName;
-            maxCount = node.parcelList.size();
-        }
-        maxCity = findMaxCity(node.left, maxCity, maxCount);
-        maxCity = findMaxCity(node.right, maxCity, maxCount);
-        return maxCity;
-    }
-}
+package data_sturcts;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import main.Parcel;
+
+public class DestinationSorter {
+
+    // Şehir yükü her değiştiğinde çağrılır (ör. TerminalRotator)
+    public interface LoadListener {
+        void onLoadChanged(int cityId, int newLoad);
+    }
+
+    // Şehir adı -> yoğun ID; kuyruklar ID ile indekslenen dizide durur
+    private final CityIndex cities;
+    private CityQueue[] cityQueues;
+
+    // Kuyruğu olan şehirlerin ID'leri, ada göre (büyük/küçük harf duyarsız) sıralı
+    private int[] sortedCityIds = new int[8];
+    private int cityCount;
+
+    // Şehir yükleri her ekleme/silmede güncellenir; okumalar ağaç dolaşmaz
+    private final CityLoadHeap loads = new CityLoadHeap();
+    private int totalParcels;
+    private LoadListener loadListener;
+
+    // insertAll sırasında yükü değişen şehirler
+    private boolean[] touchedFlags;
+    private int[] touchedCities;
+
+    public DestinationSorter() {
+        this(new CityIndex());
+    }
+
+    public DestinationSorter(CityIndex cities) {
+        this.cities = cities;
+        this.cityQueues = new CityQueue[Math.max(8, cities.size())];
+        this.touchedFlags = new boolean[cityQueues.length];
+        this.touchedCities = new int[cityQueues.length];
+    }
+
+    // 🟢 Parcel ekleme: şehir bir kez ID'ye çözülür, ekleme O(1)
+    public void insertParcel(Parcel parcel) {
+        int cityId = cities.register(parcel);
+        CityQueue queue = queueFor(cityId);
+        queue.add(parcel);
+        totalParcels++;
+        loadChanged(cityId, queue.size());
+    }
+
+    // Toplu ekleme (ör. iade yığınından): yük heap'i her şehir için bir kez güncellenir
+    public void insertAll(Parcel[] parcels, int offset, int length) {
+        int touched = 0;
+        for (int i = offset; i < offset + length; i++) {
+            Parcel parcel = parcels[i];
+            int cityId = cities.register(parcel);
+            CityQueue queue = queueFor(cityId);
+            queue.add(parcel);
+            if (!touchedFlags[cityId]) {
+                touchedFlags[cityId] = true;
+                touchedCities[touched++] = cityId;
+            }
+        }
+        totalParcels += length;
+        for (int i = 0; i < touched; i++) {
+            int cityId = touchedCities[i];
+            touchedFlags[cityId] = false;
+            loadChanged(cityId, cityQueues[cityId].size());
+        }
+    }
+
+    private void loadChanged(int cityId, int newLoad) {
+        loads.update(cityId, newLoad);
+        if (loadListener != null) {
+            loadListener.onLoadChanged(cityId, newLoad);
+        }
+    }
+
+    public void setLoadListener(LoadListener listener) {
+        this.loadListener = listener;
+    }
+
+    private CityQueue queueFor(int cityId) {
+        if (cityId >= cityQueues.length) {
+            int length = Math.max(cityQueues.length * 2, cityId + 1);
+            cityQueues = Arrays.copyOf(cityQueues, length);
+            touchedFlags = Arrays.copyOf(touchedFlags, length);
+            touchedCities = Arrays.copyOf(touchedCities, length);
+        }
+        CityQueue queue = cityQueues[cityId];
+        if (queue == null) {
+            queue = cityQueues[cityId] = new CityQueue();
+            addToSortedOrder(cityId);
+            loads.add(cityId);
+        }
+        return queue;
+    }
+
+    // Yeni şehri alfabetik sıraya yerleştirir (sadece şehir ilk kez görüldüğünde)
+    private void addToSortedOrder(int cityId) {
+        String name = cities.nameOf(cityId);
+        int low = 0;
+        int high = cityCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cities.nameOf(sortedCityIds[mid]).compareToIgnoreCase(name) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (cityCount == sortedCityIds.length) {
+            sortedCityIds = Arrays.copyOf(sortedCityIds, cityCount * 2);
+        }
+        System.arraycopy(sortedCityIds, low, sortedCityIds, low + 1, cityCount - low);
+        sortedCityIds[low] = cityId;
+        cityCount++;
+    }
+
+    private CityQueue search(String city) {
+        return queueAt(cities.idOf(city));
+    }
+
+    private CityQueue queueAt(int cityId) {
+        return (cityId >= 0 && cityId < cityQueues.length) ? cityQueues[cityId] : null;
+    }
+
+    // 🟡 Belirli bir şehir için kuyruktaki tüm kargoların anlık kopyası (FIFO sırasıyla)
+    public Queue<Parcel> getCityParcels(String city) {
+        CityQueue queue = search(city);
+        if (queue == null) {
+            return null;
+        }
+        Parcel[] snapshot = new Parcel[queue.size()];
+        queue.copyTo(snapshot);
+        return new ArrayDeque<>(Arrays.asList(snapshot));
+    }
+
+    // Şehrin sıradaki parcel'ı (çıkarmadan)
+    public Parcel peekParcel(int cityId) {
+        CityQueue queue = queueAt(cityId);
+        return (queue != null) ? queue.peek() : null;
+    }
+
+    // Şehrin sıradaki parcel'ını çıkarır
+    public Parcel pollParcel(int cityId) {
+        CityQueue queue = queueAt(cityId);
+        if (queue == null || queue.isEmpty()) {
+            return null;
+        }
+        Parcel parcel = queue.poll();
+        totalParcels--;
+        loadChanged(cityId, queue.size());
+        return parcel;
+    }
+
+    // 🚚 Bir kamyon yükünü tek çağrıda al: öncelik 3 -> 1, her şeritte FIFO.
+    // maxVolume birimleri Small = 1, Medium = 2, Large = 3 (sınırsız için Integer.MAX_VALUE).
+    // Negatif maxCount int sürümdeki gibi 0 sayılır (boş dizi döner).
+    public Parcel[] pollBatch(String city, int maxCount, int maxVolume) {
+        int cityId = cities.idOf(city);
+        Parcel[] batch = new Parcel[Math.max(0, Math.min(maxCount, countCityParcels(cityId)))];
+        int taken = pollBatch(cityId, maxCount, maxVolume, batch, 0);
+        return (taken == batch.length) ? batch : Arrays.copyOf(batch, taken);
+    }
+
+    // Diziyi yeniden kullanan sürüm; out'a yazılan parcel sayısını döner
+    public int pollBatch(int cityId, int maxCount, int maxVolume, Parcel[] out, int offset) {
+        int taken = detachBatch(cityId, maxCount, maxVolume, out, offset);
+        commitDetached(cityId, taken);
+        return taken;
+    }
+
+    // Paralel gönderim için iki aşamalı çekme: detachBatch yalnızca şehrin kendi kuyruğuna dokunur,
+    // bu yüzden farklı şehirler için aynı anda çağrılabilir. Toplam sayı, yük heap'i ve dinleyici
+    // sonra tek thread'den commitDetached ile güncellenir.
+    public int detachBatch(int cityId, int maxCount, int maxVolume, Parcel[] out, int offset) {
+        CityQueue queue = queueAt(cityId);
+        if (queue == null || queue.isEmpty()) {
+            return 0;
+        }
+        return queue.pollBatch(out, offset, Math.min(maxCount, out.length - offset), maxVolume);
+    }
+
+    public void commitDetached(int cityId, int taken) {
+        if (taken > 0) {
+            totalParcels -= taken;
+            loadChanged(cityId, cityQueues[cityId].size());
+        }
+    }
+
+    // Şehrin kuyruğunu çıkarmadan kopyalar: şerit sırası (öncelik 3 -> 1), her şeritte FIFO.
+    // Bu sırayla yeniden eklenince aynı kuyruk oluşur.
+    public int copyCityParcels(int cityId, Parcel[] out) {
+        CityQueue queue = queueAt(cityId);
+        return (queue != null) ? queue.copyTo(out) : 0;
+    }
+
+    // 🔴 Belirli şehirden bir parcel sil (kargo gönderildikten sonra), O(1)
+    public boolean removeParcel(String city, String parcelID) {
+        return removeParcel(city, Parcel.parseNumericID(parcelID));
+    }
+
+    public boolean removeParcel(String city, long parcelID) {
+        int cityId = cities.idOf(city);
+        CityQueue queue = queueAt(cityId);
+        if (queue == null || queue.remove(parcelID) == null) {
+            return false;
+        }
+        totalParcels--;
+        loadChanged(cityId, queue.size());
+        return true;
+    }
+
+    // 🟢 Şehir adına göre alfabetik sıralı dolaşım
+    public void inOrderTraversal() {
+        for (int i = 0; i < cityCount; i++) {
+            int cityId = sortedCityIds[i];
+            System.out.println("City: " + cities.nameOf(cityId) + " | Parcel Count: " + cityQueues[cityId].size());
+        }
+    }
+
+    // 🔍 Şehirde kaç kargo var?
+    public int countCityParcels(String city) {
+        return countCityParcels(cities.idOf(city));
+    }
+
+    public int countCityParcels(int cityId) {
+        CityQueue queue = queueAt(cityId);
+        return (queue != null) ? queue.size() : 0;
+    }
+
+    // 📊 Toplam şehir sayısı
+    public int getCityCount() {
+        return cityCount;
+    }
+
+    public int getTotalParcels() {
+        return totalParcels;
+    }
+
+    // 🚩 En çok yüke sahip şehir (heap kökü, O(1))
+    public String getBusiestCity() {
+        int cityId = loads.busiest();
+        return (cityId >= 0) ? cities.nameOf(cityId) : null;
+    }
+
+    public CityIndex getCityIndex() {
+        return cities;
+    }
+}
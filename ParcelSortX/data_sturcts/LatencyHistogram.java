@@ -0,0 +1,90 @@
+package data_sturcts;
+
+import java.util.Arrays;
+
+// HDR tarzı log-lineer histogram (int gecikmeler, ör. tick cinsinden gönderim gecikmesi).
+// 0..127 arası değerler birebir tutulur; üstünde her ikinin kuvveti aralığı 64 alt kovaya
+// bölünür, yani göreli hata en fazla ~%1.6. Kayıt O(1), yüzdelik sorgusu sabit sayıda
+// kova (en fazla 1664) dolaşır; kaydedilen değer sayısından bağımsızdır.
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;      // 128
+    private static final int SUB_BUCKET_HALF_BITS = SUB_BUCKET_BITS - 1;
+    private static final int SUB_BUCKET_HALF = 1 << SUB_BUCKET_HALF_BITS;  // 64
+    private static final int BUCKET_COUNT = 31 - SUB_BUCKET_HALF_BITS;     // int aralığı için
+
+    private final long[] counts = new long[(BUCKET_COUNT + 1) * SUB_BUCKET_HALF];
+    private long totalCount;
+    private int maxValue;
+
+    // Negatif değerler 0 olarak sayılır
+    public void record(int value) {
+        int v = Math.max(0, value);
+        counts[indexOf(v)]++;
+        totalCount++;
+        if (v > maxValue) {
+            maxValue = v;
+        }
+    }
+
+    // Daha önce kaydedilmiş bir değeri geri alır (maksimum değişmez)
+    void remove(int value) {
+        int index = indexOf(Math.max(0, value));
+        if (counts[index] > 0) {
+            counts[index]--;
+            totalCount--;
+        }
+    }
+
+    // Tüm kayıtları siler (ör. tick başına yeniden kullanım)
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        maxValue = 0;
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        maxValue = Math.max(maxValue, other.maxValue);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public int getMaxValue() {
+        return maxValue;
+    }
+
+    // Değerlerin percentile yüzdesinin altında kaldığı en küçük değer (kova üst sınırı)
+    public int getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double p = Math.min(100.0, Math.max(0.0, percentile));
+        long target = Math.max(1, (long) Math.ceil(p / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestValueAt(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    private static int indexOf(int value) {
+        int bucket = 31 - Integer.numberOfLeadingZeros(value | (SUB_BUCKET_COUNT - 1)) - SUB_BUCKET_HALF_BITS;
+        int subBucket = value >>> bucket;
+        return (bucket << SUB_BUCKET_HALF_BITS) + subBucket;
+    }
+
+    private static int highestValueAt(int index) {
+        int bucket = Math.max(0, (index >>> SUB_BUCKET_HALF_BITS) - 1);
+        long subBucket = index - (bucket << SUB_BUCKET_HALF_BITS);
+        return (int) Math.min(Integer.MAX_VALUE, ((subBucket + 1) << bucket) - 1);
+    }
+}
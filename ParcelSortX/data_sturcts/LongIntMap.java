@@ -0,0 +1,124 @@
+package data_sturcts;
+
+// long -> int açık adresleme haritası (linear probing, silmede geri kaydırma).
+// Kutulama (boxing) yapmaz; get/put/remove sırasında nesne oluşturulmaz.
+final class LongIntMap {
+    private static final long EMPTY = 0L; // anahtarlar key + 1 olarak saklanır
+    private static final double LOAD_FACTOR = 0.6;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    LongIntMap(int expectedSize) {
+        int capacity = 16;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    // Yoksa -1 döner
+    int get(long key) {
+        long stored = key + 1;
+        int slot = hash(key) & mask;
+        long k;
+        while ((k = keys[slot]) != EMPTY) {
+            if (k == stored) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Önceki değeri (yoksa -1) döner
+    int put(long key, int value) {
+        if (size >= threshold) {
+            rehash(keys.length * 2);
+        }
+        long stored = key + 1;
+        int slot = hash(key) & mask;
+        long k;
+        while ((k = keys[slot]) != EMPTY) {
+            if (k == stored) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = stored;
+        values[slot] = value;
+        size++;
+        return -1;
+    }
+
+    // Silinen değeri (yoksa -1) döner
+    int remove(long key) {
+        long stored = key + 1;
+        int slot = hash(key) & mask;
+        long k;
+        while ((k = keys[slot]) != EMPTY) {
+            if (k == stored) {
+                int removed = values[slot];
+                shiftBack(slot);
+                size--;
+                return removed;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Boşalan slot'tan sonraki zinciri geri kaydırır (mezar taşı bırakmadan)
+    private void shiftBack(int hole) {
+        int slot = (hole + 1) & mask;
+        long k;
+        while ((k = keys[slot]) != EMPTY) {
+            int ideal = hash(k - 1) & mask;
+            if (((slot - ideal) & mask) >= ((slot - hole) & mask)) {
+                keys[hole] = k;
+                values[hole] = values[slot];
+                hole = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long k = oldKeys[i];
+            if (k != EMPTY) {
+                int slot = hash(k - 1) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = k;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,1067 @@
+package data_sturcts;
+
+import main.ConfigManager;
+import main.Parcel;
+import main.SimulationClock;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.logging.*;
+
+public class ParcelTracker {
+    private static final Logger logger = Logger.getLogger(ParcelTracker.class.getName());
+
+    // Constants for hash table
+    private static final int INITIAL_CAPACITY = 32;  // Power of two, just above QUEUE_CAPACITY from config.txt
+    private static final double LOAD_FACTOR_THRESHOLD = 0.75;  // As specified in requirements
+    private static final long EMPTY = 0L;  // Keys hold parcelID + 1, so a fresh array is already empty
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int MIGRATION_STEP = 16;  // Old-table slots moved per insert/lookup while resizing
+
+    // Records are stored in fixed-size pages so growing never copies existing columns
+    private static final int PAGE_SHIFT = 14;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    // Bytes per record in a snapshot: id, status, arrival, dispatch, returns, priority, city, size
+    private static final int RECORD_BYTES = 8 + 1 + 4 + 4 + 2 + 1 + 2 + 1;
+
+    private static final Parcel.Size[] SIZES = Parcel.Size.values();
+
+    // Parcel status enum
+    public enum ParcelStatus {
+        IN_QUEUE,
+        SORTED,
+        DISPATCHED,
+        RETURNED;
+
+        // Lifecycle: IN_QUEUE -> SORTED -> DISPATCHED or RETURNED, RETURNED -> SORTED again
+        public boolean canTransitionTo(ParcelStatus next) {
+            switch (this) {
+                case IN_QUEUE:
+                    return next == SORTED;
+                case SORTED:
+                    return next == DISPATCHED || next == RETURNED;
+                case RETURNED:
+                    return next == SORTED;
+                default:
+                    return false;
+            }
+        }
+    }
+
+    private static final ParcelStatus[] STATUSES = ParcelStatus.values();
+    private static final int STATUS_COUNT = STATUSES.length;
+    private static final int NO_RECORD = -1;
+
+    // Where record pages live. OFF_HEAP keeps them in direct ByteBuffer slabs outside the
+    // Java heap (bounded by -XX:MaxDirectMemorySize), so tens of millions of live records
+    // are never copied or scanned by the garbage collector.
+    public enum Storage {
+        HEAP,
+        OFF_HEAP
+    }
+
+    // Columnar parcel data for PAGE_SIZE consecutive record numbers
+    private abstract static class Page {
+        final int version;  // snapshotVersion at creation; older pages may be shared with a snapshot
+
+        Page(int version) {
+            this.version = version;
+        }
+
+        abstract long parcelID(int i);
+        abstract int status(int i);
+        abstract int arrivalTick(int i);
+        abstract int dispatchTick(int i);
+        abstract int returnCount(int i);
+        abstract int priority(int i);
+        abstract int city(int i);
+        abstract int size(int i);
+
+        abstract void set(int i, long parcelID, int status, int arrivalTick, int priority, int city, int size);
+        abstract void setStatus(int i, int status);
+        abstract void setDispatchTick(int i, int tick);
+        abstract int incrementReturnCount(int i);
+
+        abstract Page copy(int version);
+
+        // Snapshot layout: each column as a contiguous big-endian block of n entries
+        abstract void writeColumns(ByteBuffer out, int n);
+        abstract void readColumns(ByteBuffer in, int n);
+    }
+
+    private static final class HeapPage extends Page {
+        final long[] parcelID;
+        final byte[] status;
+        final int[] arrivalTick;
+        final int[] dispatchTick;
+        final short[] returnCount;
+        final byte[] priority;
+        final short[] city;
+        final byte[] size;
+
+        HeapPage(int version) {
+            super(version);
+            parcelID = new long[PAGE_SIZE];
+            status = new byte[PAGE_SIZE];
+            arrivalTick = new int[PAGE_SIZE];
+            dispatchTick = new int[PAGE_SIZE];
+            returnCount = new short[PAGE_SIZE];
+            priority = new byte[PAGE_SIZE];
+            city = new short[PAGE_SIZE];
+            size = new byte[PAGE_SIZE];
+        }
+
+        HeapPage(HeapPage source, int version) {
+            super(version);
+            parcelID = source.parcelID.clone();
+            status = source.status.clone();
+            arrivalTick = source.arrivalTick.clone();
+            dispatchTick = source.dispatchTick.clone();
+            returnCount = source.returnCount.clone();
+            priority = source.priority.clone();
+            city = source.city.clone();
+            size = source.size.clone();
+        }
+
+        long parcelID(int i) {
+            return parcelID[i];
+        }
+
+        int status(int i) {
+            return status[i];
+        }
+
+        int arrivalTick(int i) {
+            return arrivalTick[i];
+        }
+
+        int dispatchTick(int i) {
+            return dispatchTick[i];
+        }
+
+        int returnCount(int i) {
+            return returnCount[i];
+        }
+
+        int priority(int i) {
+            return priority[i];
+        }
+
+        int city(int i) {
+            return city[i];
+        }
+
+        int size(int i) {
+            return size[i];
+        }
+
+        void set(int i, long id, int st, int arrival, int prio, int cityId, int sizeOrdinal) {
+            parcelID[i] = id;
+            status[i] = (byte) st;
+            arrivalTick[i] = arrival;
+            dispatchTick[i] = -1;  // Not dispatched yet
+            returnCount[i] = 0;
+            priority[i] = (byte) prio;
+            city[i] = (short) cityId;
+            size[i] = (byte) sizeOrdinal;
+        }
+
+        void setStatus(int i, int st) {
+            status[i] = (byte) st;
+        }
+
+        void setDispatchTick(int i, int tick) {
+            dispatchTick[i] = tick;
+        }
+
+        int incrementReturnCount(int i) {
+            return ++returnCount[i];
+        }
+
+        Page copy(int newVersion) {
+            return new HeapPage(this, newVersion);
+        }
+
+        void writeColumns(ByteBuffer out, int n) {
+            out.asLongBuffer().put(parcelID, 0, n);
+            out.position(out.position() + n * 8);
+            out.put(status, 0, n);
+            out.asIntBuffer().put(arrivalTick, 0, n);
+            out.position(out.position() + n * 4);
+            out.asIntBuffer().put(dispatchTick, 0, n);
+            out.position(out.position() + n * 4);
+            out.asShortBuffer().put(returnCount, 0, n);
+            out.position(out.position() + n * 2);
+            out.put(priority, 0, n);
+            out.asShortBuffer().put(city, 0, n);
+            out.position(out.position() + n * 2);
+            out.put(size, 0, n);
+        }
+
+        void readColumns(ByteBuffer in, int n) {
+            in.asLongBuffer().get(parcelID, 0, n);
+            in.position(in.position() + n * 8);
+            in.get(status, 0, n);
+            in.asIntBuffer().get(arrivalTick, 0, n);
+            in.position(in.position() + n * 4);
+            in.asIntBuffer().get(dispatchTick, 0, n);
+            in.position(in.position() + n * 4);
+            in.asShortBuffer().get(returnCount, 0, n);
+            in.position(in.position() + n * 2);
+            in.get(priority, 0, n);
+            in.asShortBuffer().get(city, 0, n);
+            in.position(in.position() + n * 2);
+            in.get(size, 0, n);
+        }
+    }
+
+    // One direct slab per page, columns at fixed offsets in snapshot order (big-endian),
+    // so copying a column to or from a snapshot is a single bulk transfer
+    private static final class DirectPage extends Page {
+        private static final int ID = 0;
+        private static final int STATUS = ID + 8 * PAGE_SIZE;
+        private static final int ARRIVAL = STATUS + PAGE_SIZE;
+        private static final int DISPATCH = ARRIVAL + 4 * PAGE_SIZE;
+        private static final int RETURNS = DISPATCH + 4 * PAGE_SIZE;
+        private static final int PRIORITY = RETURNS + 2 * PAGE_SIZE;
+        private static final int CITY = PRIORITY + PAGE_SIZE;
+        private static final int SIZE = CITY + 2 * PAGE_SIZE;
+        private static final int[] COLUMNS = { ID, STATUS, ARRIVAL, DISPATCH, RETURNS, PRIORITY, CITY, SIZE };
+        private static final int[] WIDTHS = { 8, 1, 4, 4, 2, 1, 2, 1 };
+
+        final ByteBuffer slab;
+
+        DirectPage(int version) {
+            super(version);
+            slab = ByteBuffer.allocateDirect(PAGE_SIZE * RECORD_BYTES);
+        }
+
+        DirectPage(DirectPage source, int version) {
+            this(version);
+            slab.put(0, source.slab, 0, slab.capacity());
+        }
+
+        long parcelID(int i) {
+            return slab.getLong(ID + 8 * i);
+        }
+
+        int status(int i) {
+            return slab.get(STATUS + i);
+        }
+
+        int arrivalTick(int i) {
+            return slab.getInt(ARRIVAL + 4 * i);
+        }
+
+        int dispatchTick(int i) {
+            return slab.getInt(DISPATCH + 4 * i);
+        }
+
+        int returnCount(int i) {
+            return slab.getShort(RETURNS + 2 * i);
+        }
+
+        int priority(int i) {
+            return slab.get(PRIORITY + i);
+        }
+
+        int city(int i) {
+            return slab.getShort(CITY + 2 * i);
+        }
+
+        int size(int i) {
+            return slab.get(SIZE + i);
+        }
+
+        void set(int i, long id, int st, int arrival, int prio, int cityId, int sizeOrdinal) {
+            slab.putLong(ID + 8 * i, id);
+            slab.put(STATUS + i, (byte) st);
+            slab.putInt(ARRIVAL + 4 * i, arrival);
+            slab.putInt(DISPATCH + 4 * i, -1);  // Not dispatched yet
+            slab.putShort(RETURNS + 2 * i, (short) 0);
+            slab.put(PRIORITY + i, (byte) prio);
+            slab.putShort(CITY + 2 * i, (short) cityId);
+            slab.put(SIZE + i, (byte) sizeOrdinal);
+        }
+
+        void setStatus(int i, int st) {
+            slab.put(STATUS + i, (byte) st);
+        }
+
+        void setDispatchTick(int i, int tick) {
+            slab.putInt(DISPATCH + 4 * i, tick);
+        }
+
+        int incrementReturnCount(int i) {
+            short count = (short) (slab.getShort(RETURNS + 2 * i) + 1);
+            slab.putShort(RETURNS + 2 * i, count);
+            return count;
+        }
+
+        Page copy(int newVersion) {
+            return new DirectPage(this, newVersion);
+        }
+
+        void writeColumns(ByteBuffer out, int n) {
+            for (int c = 0; c < COLUMNS.length; c++) {
+                out.put(out.position(), slab, COLUMNS[c], n * WIDTHS[c]);
+                out.position(out.position() + n * WIDTHS[c]);
+            }
+        }
+
+        void readColumns(ByteBuffer in, int n) {
+            for (int c = 0; c < COLUMNS.length; c++) {
+                slab.put(COLUMNS[c], in, in.position(), n * WIDTHS[c]);
+                in.position(in.position() + n * WIDTHS[c]);
+            }
+        }
+    }
+
+    // Open-addressing index (linear probing): parcel ID -> record number
+    private long[] keys;
+    private int[] records;
+    private int capacity;
+    private int mask;
+    private int resizeThreshold;
+
+    // Previous index while an incremental resize is in progress (null otherwise).
+    // Entries below migrateCursor have been copied; old slots are never cleared,
+    // so probe chains in the old index stay intact until it is dropped.
+    private long[] oldKeys;
+    private int[] oldRecords;
+    private int migrateCursor;
+
+    // Record storage, record numbers are assigned in insertion order
+    private Page[] pages = new Page[4];
+    private int size;
+    private int snapshotVersion;
+    private Storage storage = Storage.HEAP;
+
+    // Secondary index: every record sits in exactly one intrusive doubly linked list, keyed by
+    // (destination city, status) as bucket = city * STATUS_COUNT + status. Links are paged like
+    // the record columns and are not part of snapshots (readSnapshot rebuilds them). Moving a
+    // record between buckets only rewrites ints, so status updates allocate nothing.
+    private int[][] nextLinks = new int[4][];
+    private int[][] prevLinks = new int[4][];
+    private int[] bucketHeads = new int[0];
+    private int[] bucketTails = new int[0];
+    private int[] bucketSizes = new int[0];
+    private int indexModCount;  // bumped on every link change, iterators fail fast on it
+
+    private final CityIndex cities;
+    private SimulationClock clock;
+
+    // Running aggregates, updated on every insert / status change / return
+    private final TrackerStatistics stats = new TrackerStatistics();
+    private int resizeCount;
+
+    // Per-event FINE logs are sampled: only every Nth event is formatted (1 = all)
+    private int logSampleEvery = 1;
+    private long loggedEvents;
+
+    public ParcelTracker() {
+        this(new CityIndex());
+    }
+
+    public ParcelTracker(CityIndex cities) {
+        this(cities, 0);
+    }
+
+    // Pre-sizes the index so the expected number of parcels never triggers a resize
+    public ParcelTracker(CityIndex cities, long expectedParcels) {
+        this.cities = cities;
+        allocateIndex(capacityFor(expectedParcels));
+        long expectedPages = (expectedParcels + PAGE_SIZE - 1) >>> PAGE_SHIFT;
+        this.pages = new Page[(int) Math.max(4, Math.min(expectedPages, Integer.MAX_VALUE >>> PAGE_SHIFT))];
+        this.nextLinks = new int[pages.length][];
+        this.prevLinks = new int[pages.length][];
+        this.size = 0;
+        logger.info(String.format("[Initialize] ParcelTracker created with initial capacity %d", capacity));
+    }
+
+    // Upper bound for a whole run: MAX_TICKS x PARCEL_PER_TICK_MAX
+    public ParcelTracker(CityIndex cities, ConfigManager config) {
+        this(cities, (long) config.getMaxTicks() * config.getParcelPerTickMax(), config.getTrackerStorage());
+        setLogSampleEvery(config.getLogSampleEvery());
+    }
+
+    public ParcelTracker(CityIndex cities, long expectedParcels, Storage storage) {
+        this(cities, expectedParcels);
+        this.storage = storage;
+    }
+
+    private static int capacityFor(long expectedParcels) {
+        long needed = (long) Math.ceil(expectedParcels / LOAD_FACTOR_THRESHOLD) + 1;
+        int result = INITIAL_CAPACITY;
+        while (result < needed && result < MAX_CAPACITY) {
+            result <<= 1;
+        }
+        return result;
+    }
+
+    private void allocateIndex(int newCapacity) {
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+        resizeThreshold = (int) (newCapacity * LOAD_FACTOR_THRESHOLD);
+        keys = new long[newCapacity];
+        records = new int[newCapacity];
+    }
+
+    // Hash function (Fibonacci mix, table capacity is a power of two)
+    private static int hash(long parcelID) {
+        long h = parcelID * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    // Insert a new parcel record
+    public void insert(long parcelID, ParcelStatus status, int arrivalTick,
+                      int cityId, int priority, int sizeOrdinal) {
+        try {
+            // Validate input
+            if (parcelID < 0) {
+                throw new IllegalArgumentException("Invalid parcel ID");
+            }
+            if (cityId < 0 || cityId >= cities.size()) {
+                throw new IllegalArgumentException("Invalid destination city");
+            }
+            if (priority < 1 || priority > 3) {
+                throw new IllegalArgumentException("Invalid priority value");
+            }
+            if (sizeOrdinal < 0 || sizeOrdinal >= SIZES.length) {
+                throw new IllegalArgumentException("Invalid size value");
+            }
+
+            // Check load factor and resize if necessary
+            if (this.size >= resizeThreshold) {
+                resize();
+            } else if (oldKeys != null) {
+                migrateStep();
+            }
+
+            // Single probe: finds either the duplicate or the free slot
+            long storedKey = parcelID + 1;
+            int slot = hash(parcelID) & mask;
+            long key;
+            while ((key = keys[slot]) != EMPTY) {
+                if (key == storedKey) {
+                    throw new IllegalStateException("Parcel already exists: P" + parcelID);
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (oldKeys != null && probe(oldKeys, oldRecords, parcelID) >= 0) {
+                throw new IllegalStateException("Parcel already exists: P" + parcelID);
+            }
+
+            int record = this.size;
+            int pageIndex = record >>> PAGE_SHIFT;
+            if (pageIndex == pages.length) {
+                growPages(pages.length * 2);
+            }
+            Page page;
+            if (pages[pageIndex] == null) {
+                page = pages[pageIndex] = newPage();
+                allocateLinks(pageIndex);
+            } else {
+                page = writablePage(pageIndex);
+            }
+            page.set(record & PAGE_MASK, parcelID, status.ordinal(), arrivalTick, priority, cityId, sizeOrdinal);
+            ensureBuckets(cities.size());
+            link(record, bucketOf(cityId, status.ordinal()));
+
+            keys[slot] = storedKey;
+            records[slot] = record;
+            this.size++;
+            stats.recordInsert(status.ordinal());
+
+            if (shouldLogEvent()) {
+                logger.fine(String.format("[Insert] Parcel P%d tracked with status %s", parcelID, status));
+            }
+        } catch (RuntimeException e) {
+            logger.severe(String.format("[Error] Failed to insert parcel P%d: %s",
+                parcelID, e.getMessage()));
+            throw e;
+        }
+    }
+
+    // Uses the parcel's numeric fields directly (no ID string, no city lookup when the
+    // parcel already carries this tracker's city ordinal)
+    public void insert(Parcel parcel, ParcelStatus status) {
+        if (parcel.getDestinationCity() == null || parcel.getDestinationCity().trim().isEmpty()) {
+            throw new IllegalArgumentException("Invalid destination city");
+        }
+        insert(parcel.getNumericID(), status, parcel.getArrivalTick(),
+                cities.register(parcel), parcel.getPriority(), parcel.getSize().ordinal());
+    }
+
+    public void insert(String parcelID, ParcelStatus status, int arrivalTick,
+                      String destinationCity, int priority, String size) {
+        if (parcelID == null || parcelID.trim().isEmpty()) {
+            throw new IllegalArgumentException("Invalid parcel ID");
+        }
+        if (destinationCity == null || destinationCity.trim().isEmpty()) {
+            throw new IllegalArgumentException("Invalid destination city");
+        }
+        insert(Parcel.parseNumericID(parcelID), status, arrivalTick,
+                cities.register(destinationCity), priority, sizeOrdinal(size));
+    }
+
+    private static int sizeOrdinal(String size) {
+        for (Parcel.Size value : SIZES) {
+            if (value.name().equals(size)) {
+                return value.ordinal();
+            }
+        }
+        return -1;
+    }
+
+    // Update parcel status (dispatch tick is taken from the attached clock)
+    public void updateStatus(long parcelID, ParcelStatus newStatus) {
+        updateStatus(parcelID, newStatus, getCurrentTick());
+    }
+
+    // Update parcel status with an explicit tick, for callers that apply updates after the fact
+    public void updateStatus(long parcelID, ParcelStatus newStatus, int tick) {
+        try {
+            int record = requireRecord(parcelID);
+            applyStatus(record, parcelID, newStatus, tick);
+        } catch (RuntimeException e) {
+            logger.severe(String.format("[Error] Failed to update status for parcel P%d: %s",
+                parcelID, e.getMessage()));
+            throw e;
+        }
+    }
+
+    // Moves the parcel to newStatus only if it is currently in expected.
+    // Returns false (and changes nothing) when the current status differs.
+    public boolean compareAndSetStatus(long parcelID, ParcelStatus expected, ParcelStatus newStatus) {
+        if (!expected.canTransitionTo(newStatus)) {
+            throw new IllegalArgumentException("Invalid status transition: " + expected + " -> " + newStatus);
+        }
+        int record = requireRecord(parcelID);
+        Page page = pages[record >>> PAGE_SHIFT];
+        int i = record & PAGE_MASK;
+        if (page.status(i) != expected.ordinal()) {
+            return false;
+        }
+        applyStatus(record, parcelID, newStatus, getCurrentTick());
+        return true;
+    }
+
+    private void applyStatus(int record, long parcelID, ParcelStatus newStatus, int tick) {
+        Page page = writablePage(record >>> PAGE_SHIFT);
+        int i = record & PAGE_MASK;
+        ParcelStatus oldStatus = STATUSES[page.status(i)];
+        page.setStatus(i, newStatus.ordinal());
+        stats.recordStatusChange(oldStatus.ordinal(), newStatus.ordinal());
+        if (oldStatus != newStatus) {
+            moveRecord(record, page.city(i), oldStatus.ordinal(), newStatus.ordinal());
+        }
+
+        // Processing time only counts while the parcel is DISPATCHED
+        if (oldStatus == ParcelStatus.DISPATCHED && page.dispatchTick(i) != -1) {
+            stats.removeDispatch(page.dispatchTick(i) - page.arrivalTick(i));
+        }
+        // Update dispatch tick if parcel is being dispatched
+        if (newStatus == ParcelStatus.DISPATCHED) {
+            page.setDispatchTick(i, tick);
+            stats.recordDispatch(parcelID, tick - page.arrivalTick(i));
+        }
+
+        if (shouldLogEvent()) {
+            logger.fine(String.format("[Status Update] Parcel P%d: %s -> %s",
+                parcelID, oldStatus, newStatus));
+        }
+    }
+
+    public void updateStatus(String parcelID, ParcelStatus newStatus) {
+        updateStatus(Parcel.parseNumericID(parcelID), newStatus);
+    }
+
+    // Increment return count
+    public void incrementReturnCount(long parcelID) {
+        try {
+            int record = requireRecord(parcelID);
+            Page page = writablePage(record >>> PAGE_SHIFT);
+            int i = record & PAGE_MASK;
+
+            int returnCount = page.incrementReturnCount(i);
+            stats.recordReturn(parcelID, returnCount);
+            if (shouldLogEvent()) {
+                logger.fine(String.format("[Return] Parcel P%d return count: %d",
+                    parcelID, returnCount));
+            }
+        } catch (RuntimeException e) {
+            logger.severe(String.format("[Error] Failed to increment return count for parcel P%d: %s",
+                parcelID, e.getMessage()));
+            throw e;
+        }
+    }
+
+    public void incrementReturnCount(String parcelID) {
+        incrementReturnCount(Parcel.parseNumericID(parcelID));
+    }
+
+    // Parcel field lookups
+    public ParcelStatus getStatus(long parcelID) {
+        int record = requireRecord(parcelID);
+        return STATUSES[pages[record >>> PAGE_SHIFT].status(record & PAGE_MASK)];
+    }
+
+    public int getArrivalTick(long parcelID) {
+        int record = requireRecord(parcelID);
+        return pages[record >>> PAGE_SHIFT].arrivalTick(record & PAGE_MASK);
+    }
+
+    public int getDispatchTick(long parcelID) {
+        int record = requireRecord(parcelID);
+        return pages[record >>> PAGE_SHIFT].dispatchTick(record & PAGE_MASK);
+    }
+
+    public int getReturnCount(long parcelID) {
+        int record = requireRecord(parcelID);
+        return pages[record >>> PAGE_SHIFT].returnCount(record & PAGE_MASK);
+    }
+
+    public int getPriority(long parcelID) {
+        int record = requireRecord(parcelID);
+        return pages[record >>> PAGE_SHIFT].priority(record & PAGE_MASK);
+    }
+
+    public String getDestinationCity(long parcelID) {
+        int record = requireRecord(parcelID);
+        return cities.nameOf(pages[record >>> PAGE_SHIFT].city(record & PAGE_MASK));
+    }
+
+    public Parcel.Size getSize(long parcelID) {
+        int record = requireRecord(parcelID);
+        return SIZES[pages[record >>> PAGE_SHIFT].size(record & PAGE_MASK)];
+    }
+
+    // Check if parcel exists
+    public boolean exists(long parcelID) {
+        return findRecord(parcelID) >= 0;
+    }
+
+    public boolean exists(String parcelID) {
+        return exists(Parcel.parseNumericID(parcelID));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public double getLoadFactor() {
+        return (double) size / capacity;
+    }
+
+    public int getResizeCount() {
+        return resizeCount;
+    }
+
+    public void setLogSampleEvery(int everyN) {
+        this.logSampleEvery = Math.max(1, everyN);
+    }
+
+    // Cheap check first: nothing is counted or formatted unless FINE is enabled
+    private boolean shouldLogEvent() {
+        return logger.isLoggable(Level.FINE) && loggedEvents++ % logSampleEvery == 0;
+    }
+
+    public CityIndex getCityIndex() {
+        return cities;
+    }
+
+    // Copy-on-write: a page captured by a snapshot is cloned before its first change
+    private Page writablePage(int pageIndex) {
+        Page page = pages[pageIndex];
+        if (page.version < snapshotVersion) {
+            page = pages[pageIndex] = page.copy(snapshotVersion);
+        }
+        return page;
+    }
+
+    private Page newPage() {
+        return (storage == Storage.OFF_HEAP) ? new DirectPage(snapshotVersion) : new HeapPage(snapshotVersion);
+    }
+
+    public Storage getStorage() {
+        return storage;
+    }
+
+    // Point-in-time view of all records. Taking it is O(pages); later updates clone the
+    // page they touch, so the snapshot can be written from another thread meanwhile.
+    public Snapshot snapshot() {
+        snapshotVersion++;
+        int usedPages = (size + PAGE_SIZE - 1) >>> PAGE_SHIFT;
+        return new Snapshot(Arrays.copyOf(pages, usedPages), size,
+                stats.mostReturnedParcel, stats.longestDelayParcel);
+    }
+
+    public static final class Snapshot {
+        private final Page[] pages;
+        private final int size;
+        // Maximum holders are kept as recorded: on ties the first parcel to reach the maximum
+        // wins, which a rebuild in record order cannot tell
+        private final long mostReturnedParcel;
+        private final long longestDelayParcel;
+
+        private Snapshot(Page[] pages, int size, long mostReturnedParcel, long longestDelayParcel) {
+            this.pages = pages;
+            this.size = size;
+            this.mostReturnedParcel = mostReturnedParcel;
+            this.longestDelayParcel = longestDelayParcel;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        // Binary layout: record count, most-returned and longest-delay parcel IDs,
+        // then per page each column as a contiguous block
+        public void writeTo(WritableByteChannel channel) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(Math.max(20, Math.min(size, PAGE_SIZE) * RECORD_BYTES));
+            buffer.putInt(size).putLong(mostReturnedParcel).putLong(longestDelayParcel).flip();
+            writeFully(channel, buffer);
+            for (int p = 0; p < pages.length; p++) {
+                Page page = pages[p];
+                int n = Math.min(PAGE_SIZE, size - (p << PAGE_SHIFT));
+                buffer.clear();
+                page.writeColumns(buffer, n);
+                buffer.flip();
+                writeFully(channel, buffer);
+            }
+        }
+
+        private static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    // Loads records written by Snapshot.writeTo into this (empty) tracker and rebuilds
+    // the index and running statistics. The buffer is left after the tracker section.
+    public void readSnapshot(ByteBuffer in) {
+        if (size != 0) {
+            throw new IllegalStateException("Snapshot can only be loaded into an empty tracker");
+        }
+        int count = in.getInt();
+        long mostReturnedParcel = in.getLong();
+        long longestDelayParcel = in.getLong();
+        if (capacityFor(count) > capacity) {
+            allocateIndex(capacityFor(count));
+            oldKeys = null;
+            oldRecords = null;
+        }
+        int usedPages = (count + PAGE_SIZE - 1) >>> PAGE_SHIFT;
+        if (usedPages > pages.length) {
+            growPages(usedPages);
+        }
+        for (int p = 0; p < usedPages; p++) {
+            Page page = pages[p] = newPage();
+            allocateLinks(p);
+            int n = Math.min(PAGE_SIZE, count - (p << PAGE_SHIFT));
+            page.readColumns(in, n);
+        }
+        ensureBuckets(cities.size());
+
+        for (int record = 0; record < count; record++) {
+            Page page = pages[record >>> PAGE_SHIFT];
+            int i = record & PAGE_MASK;
+            long parcelID = page.parcelID(i);
+            int slot = hash(parcelID) & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = parcelID + 1;
+            records[slot] = record;
+            link(record, bucketOf(page.city(i), page.status(i)));
+
+            stats.recordInsert(page.status(i));
+            if (page.status(i) == ParcelStatus.DISPATCHED.ordinal() && page.dispatchTick(i) != -1) {
+                stats.recordDispatch(parcelID, page.dispatchTick(i) - page.arrivalTick(i));
+            }
+            for (int r = 1; r <= page.returnCount(i); r++) {
+                stats.recordReturn(parcelID, r);
+            }
+        }
+        stats.mostReturnedParcel = mostReturnedParcel;
+        stats.longestDelayParcel = longestDelayParcel;
+        size = count;
+        logger.info(String.format("[Restore] Loaded %d parcel records", count));
+    }
+
+    private void growPages(int newLength) {
+        pages = Arrays.copyOf(pages, newLength);
+        nextLinks = Arrays.copyOf(nextLinks, newLength);
+        prevLinks = Arrays.copyOf(prevLinks, newLength);
+    }
+
+    // Link pages are allocated with their record page, never per update
+    private void allocateLinks(int pageIndex) {
+        nextLinks[pageIndex] = new int[PAGE_SIZE];
+        prevLinks[pageIndex] = new int[PAGE_SIZE];
+    }
+
+    private static int bucketOf(int cityId, int status) {
+        return cityId * STATUS_COUNT + status;
+    }
+
+    // Cities may be registered after construction; bucket arrays grow with the city count
+    private void ensureBuckets(int cityCount) {
+        int needed = cityCount * STATUS_COUNT;
+        if (needed <= bucketHeads.length) {
+            return;
+        }
+        int oldLength = bucketHeads.length;
+        int newLength = Math.max(needed, oldLength * 2);
+        bucketHeads = Arrays.copyOf(bucketHeads, newLength);
+        bucketTails = Arrays.copyOf(bucketTails, newLength);
+        bucketSizes = Arrays.copyOf(bucketSizes, newLength);
+        Arrays.fill(bucketHeads, oldLength, newLength, NO_RECORD);
+        Arrays.fill(bucketTails, oldLength, newLength, NO_RECORD);
+    }
+
+    private void moveRecord(int record, int cityId, int oldStatus, int newStatus) {
+        unlink(record, bucketOf(cityId, oldStatus));
+        link(record, bucketOf(cityId, newStatus));
+    }
+
+    // Appends at the tail, so a bucket lists parcels in the order they entered it
+    private void link(int record, int bucket) {
+        int tail = bucketTails[bucket];
+        nextLinks[record >>> PAGE_SHIFT][record & PAGE_MASK] = NO_RECORD;
+        prevLinks[record >>> PAGE_SHIFT][record & PAGE_MASK] = tail;
+        if (tail == NO_RECORD) {
+            bucketHeads[bucket] = record;
+        } else {
+            nextLinks[tail >>> PAGE_SHIFT][tail & PAGE_MASK] = record;
+        }
+        bucketTails[bucket] = record;
+        bucketSizes[bucket]++;
+        indexModCount++;
+    }
+
+    private void unlink(int record, int bucket) {
+        int next = nextLinks[record >>> PAGE_SHIFT][record & PAGE_MASK];
+        int prev = prevLinks[record >>> PAGE_SHIFT][record & PAGE_MASK];
+        if (prev == NO_RECORD) {
+            bucketHeads[bucket] = next;
+        } else {
+            nextLinks[prev >>> PAGE_SHIFT][prev & PAGE_MASK] = next;
+        }
+        if (next == NO_RECORD) {
+            bucketTails[bucket] = prev;
+        } else {
+            prevLinks[next >>> PAGE_SHIFT][next & PAGE_MASK] = prev;
+        }
+        bucketSizes[bucket]--;
+        indexModCount++;
+    }
+
+    // Index queries. Iterators yield parcel IDs and cost O(result) plus one step per bucket
+    // visited (one for status + city, STATUS_COUNT per city, city count per status).
+    // The tracker must not be modified while an iterator is in use.
+    public PrimitiveIterator.OfLong parcelsWithStatus(ParcelStatus status) {
+        return new BucketIterator(status.ordinal(), STATUS_COUNT, bucketHeads.length / STATUS_COUNT);
+    }
+
+    public PrimitiveIterator.OfLong parcelsFor(int cityId) {
+        return new BucketIterator(bucketOf(cityId, 0), 1, bucketsOfCity(cityId));
+    }
+
+    public PrimitiveIterator.OfLong parcelsFor(String city) {
+        return parcelsFor(cities.idOf(city));
+    }
+
+    public PrimitiveIterator.OfLong parcelsWithStatus(ParcelStatus status, int cityId) {
+        return new BucketIterator(bucketOf(cityId, status.ordinal()), 1, bucketsOfCity(cityId) > 0 ? 1 : 0);
+    }
+
+    public PrimitiveIterator.OfLong parcelsWithStatus(ParcelStatus status, String city) {
+        return parcelsWithStatus(status, cities.idOf(city));
+    }
+
+    // O(1): parcels currently in the given status for one destination city
+    public int countWithStatus(ParcelStatus status, int cityId) {
+        return bucketsOfCity(cityId) > 0 ? bucketSizes[bucketOf(cityId, status.ordinal())] : 0;
+    }
+
+    public int countWithStatus(ParcelStatus status, String city) {
+        return countWithStatus(status, cities.idOf(city));
+    }
+
+    // Unknown or not yet tracked cities have no buckets and simply match nothing
+    private int bucketsOfCity(int cityId) {
+        return (cityId >= 0 && bucketOf(cityId, 0) < bucketHeads.length) ? STATUS_COUNT : 0;
+    }
+
+    // Walks `buckets` buckets starting at `bucket`, `step` apart, skipping empty ones
+    private final class BucketIterator implements PrimitiveIterator.OfLong {
+        private final int step;
+        private int bucket;
+        private int bucketsLeft;
+        private int record = NO_RECORD;
+        private final int expectedModCount = indexModCount;
+
+        BucketIterator(int firstBucket, int step, int buckets) {
+            this.step = step;
+            this.bucket = firstBucket - step;
+            this.bucketsLeft = buckets;
+            nextBucket();
+        }
+
+        private void nextBucket() {
+            while (record == NO_RECORD && bucketsLeft > 0) {
+                bucket += step;
+                bucketsLeft--;
+                record = bucketHeads[bucket];
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return record != NO_RECORD;
+        }
+
+        @Override
+        public long nextLong() {
+            if (indexModCount != expectedModCount) {
+                throw new ConcurrentModificationException("ParcelTracker changed during iteration");
+            }
+            if (record == NO_RECORD) {
+                throw new NoSuchElementException();
+            }
+            long parcelID = pages[record >>> PAGE_SHIFT].parcelID(record & PAGE_MASK);
+            record = nextLinks[record >>> PAGE_SHIFT][record & PAGE_MASK];
+            nextBucket();
+            return parcelID;
+        }
+    }
+
+    // Helper method to find the record number, -1 if absent
+    private int findRecord(long parcelID) {
+        if (oldKeys == null) {
+            return probe(keys, records, parcelID);
+        }
+        migrateStep();
+        int record = probe(keys, records, parcelID);
+        if (record < 0 && oldKeys != null) {
+            record = probe(oldKeys, oldRecords, parcelID);
+        }
+        return record;
+    }
+
+    private static int probe(long[] keyTable, int[] recordTable, long parcelID) {
+        int tableMask = keyTable.length - 1;
+        long storedKey = parcelID + 1;
+        int slot = hash(parcelID) & tableMask;
+        long key;
+        while ((key = keyTable[slot]) != EMPTY) {
+            if (key == storedKey) {
+                return recordTable[slot];
+            }
+            slot = (slot + 1) & tableMask;
+        }
+        return -1;
+    }
+
+    private int requireRecord(long parcelID) {
+        int record = findRecord(parcelID);
+        if (record < 0) {
+            throw new IllegalArgumentException("Parcel not found: P" + parcelID);
+        }
+        return record;
+    }
+
+    // Start an incremental resize of the hash index (record columns stay where they are).
+    // The old index is migrated MIGRATION_STEP slots at a time by later inserts and lookups;
+    // with a doubling table that always finishes before the next threshold is reached.
+    private void resize() {
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("ParcelTracker is full: " + size + " parcels");
+        }
+        if (oldKeys != null) {
+            finishMigration();
+        }
+
+        oldKeys = keys;
+        oldRecords = records;
+        migrateCursor = 0;
+        allocateIndex(capacity * 2);
+        resizeCount++;
+
+        logger.info(String.format("[Resize] Hash table resizing to capacity %d", capacity));
+        migrateStep();
+    }
+
+    private void migrateStep() {
+        int end = Math.min(migrateCursor + MIGRATION_STEP, oldKeys.length);
+        for (int s = migrateCursor; s < end; s++) {
+            long key = oldKeys[s];
+            if (key != EMPTY) {
+                int slot = hash(key - 1) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                records[slot] = oldRecords[s];
+            }
+        }
+        migrateCursor = end;
+
+        if (migrateCursor == oldKeys.length) {
+            oldKeys = null;
+            oldRecords = null;
+            logger.info(String.format("[Resize] Migration to capacity %d complete", capacity));
+        }
+    }
+
+    private void finishMigration() {
+        while (oldKeys != null) {
+            migrateStep();
+        }
+    }
+
+    public boolean isResizing() {
+        return oldKeys != null;
+    }
+
+    // The simulation engine attaches its shared tick clock here
+    public void attachClock(SimulationClock clock) {
+        this.clock = clock;
+    }
+
+    // Get current simulation tick (0 when no clock is attached)
+    private int getCurrentTick() {
+        return (clock != null) ? clock.getCurrentTick() : 0;
+    }
+
+    // Get statistics for reporting
+    public String getStatistics() {
+        TrackerStatistics snapshot = new TrackerStatistics();
+        collectStatistics(snapshot);
+        return snapshot.toReport();
+    }
+
+    // Live running aggregates, O(1) to read at any tick (do not modify)
+    public TrackerStatistics getRunningStatistics() {
+        stats.tableCapacity = capacity;
+        return stats;
+    }
+
+    // Adds this tracker's running aggregates to the given accumulator (no table walk)
+    public void collectStatistics(TrackerStatistics target) {
+        target.add(getRunningStatistics());
+    }
+}
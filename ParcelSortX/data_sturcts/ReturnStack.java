@@ -0,0 +1,125 @@
+package data_sturcts;
+
+import java.util.Arrays;
+import java.util.List;
+import main.Parcel;
+
+// Yanlış yönlendirilip geri dönen parcel'lar için dizi tabanlı LIFO yığın.
+// Push başına düğüm oluşturulmaz; dizi gerektiğinde iki katına büyür.
+// Bir parcel en fazla maxReturns kez geri alınır; sayaç Parcel nesnesinin
+// kendi returnCount alanından okunur (hash araması yok).
+public class ReturnStack {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Parcel[] elements;
+    private int size;
+    private final int maxReturns;
+    private long rejectedCount;
+
+    public ReturnStack(int maxReturns) {
+        this(maxReturns, INITIAL_CAPACITY);
+    }
+
+    public ReturnStack(int maxReturns, int initialCapacity) {
+        this.maxReturns = maxReturns;
+        this.elements = new Parcel[Math.max(1, initialCapacity)];
+    }
+
+    // İade limitini aşan parcel yığına alınmaz ve false döner
+    public boolean push(Parcel parcel) {
+        if (parcel.getReturnCount() > maxReturns) {
+            rejectedCount++;
+            return false;
+        }
+        ensureCapacity(size + 1);
+        elements[size++] = parcel;
+        return true;
+    }
+
+    // Toplu ekleme; kabul edilen parcel sayısını döner
+    public int pushAll(List<Parcel> parcels) {
+        ensureCapacity(size + parcels.size());
+        int accepted = 0;
+        for (int i = 0; i < parcels.size(); i++) {
+            Parcel parcel = parcels.get(i);
+            if (parcel.getReturnCount() > maxReturns) {
+                rejectedCount++;
+            } else {
+                elements[size++] = parcel;
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    public Parcel pop() {
+        if (size == 0) {
+            return null;
+        }
+        Parcel top = elements[--size];
+        elements[size] = null;
+        return top;
+    }
+
+    public Parcel peek() {
+        return size == 0 ? null : elements[size - 1];
+    }
+
+    // En fazla n parcel'ı (üstten başlayarak) out'a taşır, taşınan sayıyı döner (negatif n = 0)
+    public int popBatch(int n, Parcel[] out, int offset) {
+        int count = Math.max(0, Math.min(Math.min(n, size), out.length - offset));
+        for (int i = 0; i < count; i++) {
+            out[offset + i] = elements[--size];
+            elements[size] = null;
+        }
+        return count;
+    }
+
+    public Parcel[] popBatch(int n) {
+        Parcel[] batch = new Parcel[Math.max(0, Math.min(n, size))];
+        popBatch(n, batch, 0);
+        return batch;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > elements.length) {
+            int newCapacity = elements.length;
+            while (newCapacity < required) {
+                newCapacity <<= 1;
+            }
+            elements = Arrays.copyOf(elements, newCapacity);
+        }
+    }
+
+    // Yığını alttan üste doğru kopyalar (checkpoint için); sırayla push edilince aynı yığın oluşur
+    public int copyTo(Parcel[] out) {
+        System.arraycopy(elements, 0, out, 0, size);
+        return size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getCapacity() {
+        return elements.length;
+    }
+
+    public int getMaxReturns() {
+        return maxReturns;
+    }
+
+    // İade limitini aştığı için reddedilen parcel sayısı
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    // Checkpoint'ten devam ederken sayaç kaldığı yerden sürer
+    public void restoreRejectedCount(long count) {
+        this.rejectedCount = count;
+    }
+}
@@ -1,5 +1,255 @@
-package data_sturcts;
-
-public class TerminalRotator {
-
-}
+package data_sturcts;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Şehir ID'leri (CITY_LIST sırası) üzerinde dairesel terminal rotasyonu.
+// Engine her tick nextTerminal() çağırır; her adım O(1):
+//   ROUND_ROBIN: her şehir sırayla TERMINAL_ROTATION_INTERVAL tick aktif kalır (boş olsa bile)
+//   SKIP_EMPTY:  kuyruğu boş şehirler atlanır, yalnızca dolu şehirlerin halkası dolaşılır
+//   WEIGHTED:    SKIP_EMPTY gibi; ayrıca şehrin tick payı yüküyle orantılıdır
+// Yükler DestinationSorter'dan LoadListener ile artımlı gelir; kuyruklar dolaşılmaz.
+public class TerminalRotator implements DestinationSorter.LoadListener {
+
+    public enum Mode {
+        ROUND_ROBIN,
+        SKIP_EMPTY,
+        WEIGHTED
+    }
+
+    public static final int NONE = -1;
+
+    private final Mode mode;
+    private final int interval;
+    private int cityCount;
+
+    // Şehir ID -> kuyruktaki parcel sayısı
+    private int[] load;
+    private long totalLoad;
+
+    // Dolu şehirlerin çift yönlü dairesel halkası (şehir ID ile indekslenir)
+    private int[] next;
+    private int[] prev;
+    private boolean[] inRing;
+    private int ringSize;
+
+    private int current;   // aktif terminal
+    private int pending;   // aktif terminal halkadan çıktıysa sıradaki aday
+    private int slotsLeft; // aktif terminalin kalan tick hakkı
+    private long rotations;
+
+    public TerminalRotator(int cityCount, int interval, Mode mode) {
+        this.mode = mode;
+        this.interval = Math.max(1, interval);
+        this.cityCount = cityCount;
+        int length = Math.max(8, cityCount);
+        this.load = new int[length];
+        this.next = new int[length];
+        this.prev = new int[length];
+        this.inRing = new boolean[length];
+        this.current = (mode == Mode.ROUND_ROBIN && cityCount > 0) ? 0 : NONE;
+        this.pending = NONE;
+        this.slotsLeft = this.interval;
+    }
+
+    // Bu tick'te gönderim yapacak şehir; SKIP_EMPTY/WEIGHTED modunda dolu şehir yoksa NONE
+    public int nextTerminal() {
+        if (mode == Mode.ROUND_ROBIN) {
+            if (cityCount == 0) {
+                return NONE;
+            }
+            if (slotsLeft == 0) {
+                current = (current + 1) % cityCount;
+                slotsLeft = interval;
+                rotations++;
+            }
+            slotsLeft--;
+            return current;
+        }
+
+        if (ringSize == 0) {
+            return NONE;
+        }
+        // Aktif şehir boşaldıysa payının bitmesi beklenmez
+        if (current == NONE || !inRing[current] || slotsLeft == 0) {
+            current = (current != NONE && inRing[current]) ? next[current] : pending;
+            pending = NONE;
+            slotsLeft = quantum(current);
+            rotations++;
+        }
+        slotsLeft--;
+        return current;
+    }
+
+    // Yük değişmeden geçen ticks adet nextTerminal() çağrısının etkisini O(1)'de uygular
+    // (olay tabanlı modda atlanan boş tick'ler). SKIP_EMPTY/WEIGHTED'da halka boşken durum değişmez.
+    public void skipIdleTicks(long ticks) {
+        if (ticks <= 0) {
+            return;
+        }
+        if (mode != Mode.ROUND_ROBIN) {
+            if (ringSize > 0) {
+                throw new IllegalStateException("Cannot skip ticks while cities are waiting");
+            }
+            return;
+        }
+        if (cityCount == 0) {
+            return;
+        }
+        if (ticks <= slotsLeft) {
+            slotsLeft -= (int) ticks;
+            return;
+        }
+        long remaining = ticks - slotsLeft;
+        long steps = (remaining + interval - 1) / interval;
+        current = (int) ((current + steps) % cityCount);
+        slotsLeft = (int) (steps * interval - remaining);
+        rotations += steps;
+    }
+
+    // WEIGHTED: pay = interval * yük / ortalama yük (en az 1 tick); ortalama pay interval'dir
+    private int quantum(int cityId) {
+        if (mode != Mode.WEIGHTED || totalLoad == 0) {
+            return interval;
+        }
+        long share = ((long) interval * load[cityId] * ringSize + totalLoad / 2) / totalLoad;
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, share));
+    }
+
+    @Override
+    public void onLoadChanged(int cityId, int newLoad) {
+        ensureCapacity(cityId + 1);
+        totalLoad += newLoad - load[cityId];
+        load[cityId] = newLoad;
+        if (newLoad > 0 && !inRing[cityId]) {
+            addToRing(cityId);
+        } else if (newLoad == 0 && inRing[cityId]) {
+            removeFromRing(cityId);
+        }
+    }
+
+    // Yeni dolu şehir, sırası en son gelecek şekilde aktif terminalin arkasına eklenir
+    private void addToRing(int cityId) {
+        int anchor = (current != NONE && inRing[current]) ? current : pending;
+        if (anchor == NONE) {
+            next[cityId] = cityId;
+            prev[cityId] = cityId;
+            pending = cityId;
+        } else {
+            int tail = prev[anchor];
+            next[tail] = cityId;
+            prev[cityId] = tail;
+            next[cityId] = anchor;
+            prev[anchor] = cityId;
+        }
+        inRing[cityId] = true;
+        ringSize++;
+    }
+
+    private void removeFromRing(int cityId) {
+        int successor = next[cityId];
+        ringSize--;
+        inRing[cityId] = false;
+        if (ringSize == 0) {
+            pending = NONE;
+            return;
+        }
+        next[prev[cityId]] = successor;
+        prev[successor] = prev[cityId];
+        // Rotasyon, çıkan şehrin ardılından devam eder
+        if (cityId == current || cityId == pending) {
+            pending = successor;
+        }
+    }
+
+    private void ensureCapacity(int length) {
+        if (length > cityCount) {
+            cityCount = length;
+        }
+        if (length > load.length) {
+            int newLength = Math.max(load.length * 2, length);
+            load = Arrays.copyOf(load, newLength);
+            next = Arrays.copyOf(next, newLength);
+            prev = Arrays.copyOf(prev, newLength);
+            inRing = Arrays.copyOf(inRing, newLength);
+        }
+    }
+
+    // Checkpoint: yükler, halka sırası ve konum. Halka aktif terminalden (veya adayından) başlar.
+    public void writeState(DataOutput out) throws IOException {
+        out.writeByte(mode.ordinal());
+        out.writeInt(cityCount);
+        for (int i = 0; i < cityCount; i++) {
+            out.writeInt(load[i]);
+        }
+        int anchor = (current != NONE && inRing[current]) ? current : pending;
+        out.writeInt(ringSize);
+        for (int i = 0, cityId = anchor; i < ringSize; i++, cityId = next[cityId]) {
+            out.writeInt(cityId);
+        }
+        out.writeInt(current);
+        out.writeInt(pending);
+        out.writeInt(slotsLeft);
+        out.writeLong(rotations);
+    }
+
+    // writeState ile yazılan durumu yükler; mevcut yükler ve halka tamamen değiştirilir
+    public void readState(ByteBuffer in) {
+        if (in.get() != mode.ordinal()) {
+            throw new IllegalStateException("Checkpoint was written with a different TERMINAL_ROTATION_MODE");
+        }
+        int count = in.getInt();
+        ensureCapacity(count);
+        Arrays.fill(inRing, false);
+        totalLoad = 0;
+        for (int i = 0; i < count; i++) {
+            load[i] = in.getInt();
+            totalLoad += load[i];
+        }
+        ringSize = in.getInt();
+        int first = NONE;
+        int previous = NONE;
+        for (int i = 0; i < ringSize; i++) {
+            int cityId = in.getInt();
+            inRing[cityId] = true;
+            if (first == NONE) {
+                first = cityId;
+            } else {
+                next[previous] = cityId;
+                prev[cityId] = previous;
+            }
+            previous = cityId;
+        }
+        if (first != NONE) {
+            next[previous] = first;
+            prev[first] = previous;
+        }
+        current = in.getInt();
+        pending = in.getInt();
+        slotsLeft = in.getInt();
+        rotations = in.getLong();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getCurrentTerminal() {
+        return current;
+    }
+
+    // Kuyruğunda parcel olan şehir sayısı
+    public int getActiveTerminalCount() {
+        return ringSize;
+    }
+
+    public int getLoad(int cityId) {
+        return (cityId >= 0 && cityId < cityCount) ? load[cityId] : 0;
+    }
+
+    public long getRotationCount() {
+        return rotations;
+    }
+}
@@ -0,0 +1,167 @@
+package data_sturcts;
+
+// ParcelTracker istatistikleri için toplayıcı.
+// Tracker bunu her insert / durum değişikliği / iade sayacında artımlı günceller,
+// bu yüzden okumak tabloyu dolaşmaz. Birden fazla tracker (ör. shard'lar) add() ile toplanabilir.
+public class TrackerStatistics {
+    private static final int STATUS_COUNT = ParcelTracker.ParcelStatus.values().length;
+
+    long totalParcels;
+    long tableCapacity;
+
+    final long[] statusCounts = new long[STATUS_COUNT];
+    long totalReturns;
+    int maxReturns;
+    long mostReturnedParcel = -1;
+    long parcelsReturnedMoreThanOnce;
+
+    long totalProcessingTime;
+    long processedParcels;
+    int maxDelay;
+    long longestDelayParcel = -1;
+    final LatencyHistogram dispatchDelay = new LatencyHistogram();
+
+    public long getTotalParcels() {
+        return totalParcels;
+    }
+
+    public long getStatusCount(ParcelTracker.ParcelStatus status) {
+        return statusCounts[status.ordinal()];
+    }
+
+    public long getTotalReturns() {
+        return totalReturns;
+    }
+
+    public int getMaxReturns() {
+        return maxReturns;
+    }
+
+    public long getProcessedParcels() {
+        return processedParcels;
+    }
+
+    public double getAverageProcessingTime() {
+        return processedParcels > 0 ? (double) totalProcessingTime / processedParcels : 0.0;
+    }
+
+    public int getMaxDelay() {
+        return maxDelay;
+    }
+
+    // Gönderim gecikmesi yüzdelikleri (tick), ör. 50, 99, 99.9
+    public int getDelayPercentile(double percentile) {
+        return dispatchDelay.getValueAtPercentile(percentile);
+    }
+
+    public LatencyHistogram getDispatchDelayHistogram() {
+        return dispatchDelay;
+    }
+
+    // Artımlı güncellemeler (ParcelTracker çağırır)
+    void recordInsert(int status) {
+        totalParcels++;
+        statusCounts[status]++;
+    }
+
+    void recordStatusChange(int oldStatus, int newStatus) {
+        statusCounts[oldStatus]--;
+        statusCounts[newStatus]++;
+    }
+
+    void recordDispatch(long parcelID, int processingTime) {
+        totalProcessingTime += processingTime;
+        processedParcels++;
+        dispatchDelay.record(processingTime);
+        if (processingTime > maxDelay) {
+            maxDelay = processingTime;
+            longestDelayParcel = parcelID;
+        }
+    }
+
+    // DISPATCHED durumundan çıkan parcel'ın katkısı geri alınır (maksimum korunur)
+    void removeDispatch(int processingTime) {
+        totalProcessingTime -= processingTime;
+        processedParcels--;
+        dispatchDelay.remove(processingTime);
+    }
+
+    void recordReturn(long parcelID, int newReturnCount) {
+        totalReturns++;
+        if (newReturnCount > maxReturns) {
+            maxReturns = newReturnCount;
+            mostReturnedParcel = parcelID;
+        }
+        if (newReturnCount == 2) {
+            parcelsReturnedMoreThanOnce++;
+        }
+    }
+
+    // Başka bir toplayıcıyı bu nesneye ekler
+    public void add(TrackerStatistics other) {
+        totalParcels += other.totalParcels;
+        tableCapacity += other.tableCapacity;
+        for (int i = 0; i < statusCounts.length; i++) {
+            statusCounts[i] += other.statusCounts[i];
+        }
+        totalReturns += other.totalReturns;
+        if (other.maxReturns > maxReturns) {
+            maxReturns = other.maxReturns;
+            mostReturnedParcel = other.mostReturnedParcel;
+        }
+        parcelsReturnedMoreThanOnce += other.parcelsReturnedMoreThanOnce;
+        totalProcessingTime += other.totalProcessingTime;
+        processedParcels += other.processedParcels;
+        if (other.maxDelay > maxDelay) {
+            maxDelay = other.maxDelay;
+            longestDelayParcel = other.longestDelayParcel;
+        }
+        dispatchDelay.add(other.dispatchDelay);
+    }
+
+    private static String parcelName(long parcelID) {
+        return parcelID < 0 ? "None" : "P" + parcelID;
+    }
+
+    // Get statistics for reporting
+    public String toReport() {
+        StringBuilder stats = new StringBuilder();
+        stats.append("\n===+ ParcelTracker Statistics +===\n");
+
+        // Basic statistics
+        stats.append(String.format("Total Parcels: %d\n", totalParcels));
+        stats.append(String.format("Table Capacity: %d\n", tableCapacity));
+        stats.append(String.format("Load Factor: %.2f\n", (double) totalParcels / tableCapacity));
+
+        // Add status breakdown
+        stats.append("\nStatus Breakdown:\n");
+        for (ParcelTracker.ParcelStatus status : ParcelTracker.ParcelStatus.values()) {
+            stats.append(String.format("  %s: %d\n", status, statusCounts[status.ordinal()]));
+        }
+
+        // Add parcels still in system
+        long parcelsInSystem = statusCounts[ParcelTracker.ParcelStatus.IN_QUEUE.ordinal()] +
+                            statusCounts[ParcelTracker.ParcelStatus.SORTED.ordinal()];
+        stats.append(String.format("\nParcels Still in System: %d\n", parcelsInSystem));
+
+        // Add return statistics
+        stats.append("\nReturn Statistics:\n");
+        stats.append(String.format("  Total Returns: %d\n", totalReturns));
+        stats.append(String.format("  Most Returns: %d (Parcel %s)\n", maxReturns, parcelName(mostReturnedParcel)));
+        stats.append(String.format("  Parcels Returned More Than Once: %d\n", parcelsReturnedMoreThanOnce));
+
+        // Add timing statistics
+        stats.append("\nTiming Statistics:\n");
+        if (processedParcels > 0) {
+            stats.append(String.format("  Average Processing Time: %.2f ticks\n", getAverageProcessingTime()));
+            stats.append(String.format("  Longest Delay: %d ticks (Parcel %s)\n", maxDelay, parcelName(longestDelayParcel)));
+            stats.append(String.format("  Dispatch Delay p50/p99/p99.9: %d / %d / %d ticks\n",
+                getDelayPercentile(50), getDelayPercentile(99), getDelayPercentile(99.9)));
+        } else {
+            stats.append("  No parcels have been processed yet\n");
+        }
+
+        stats.append("===+ End Statistics +===\n");
+        return stats.toString();
+    }
+}
@@ -1,5 +0,0 @@
-package data_sturcts;
-
-public class returnStack {
-
-}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package main;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Pipeline aşamaları arasında TickBatch aktaran sınırlı kanal.
+// Kapasite ArrivalBuffer'daki gibi parcel sayısıyla ölçülür: kanaldaki toplam parcel
+// QUEUE_CAPACITY'yi aşacaksa üretici bekler (backpressure). Kanal boşken tek bir büyük
+// batch her zaman kabul edilir, böylece kapasiteden büyük bir tick kilitlenmeye yol açmaz.
+class BatchChannel {
+    private final ArrayDeque<TickBatch> batches = new ArrayDeque<>();
+    private final int capacity;
+    private int pendingParcels;
+    private boolean closed;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition notEmpty = lock.newCondition();
+
+    BatchChannel(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    // Kanal kapatılmışsa batch bırakılır ve false döner
+    boolean put(TickBatch batch, int parcelCount) throws InterruptedException {
+        lock.lock();
+        try {
+            while (!closed && !batches.isEmpty() && pendingParcels + parcelCount > capacity) {
+                notFull.await();
+            }
+            if (closed) {
+                return false;
+            }
+            batch.channelParcels = parcelCount;
+            batches.addLast(batch);
+            pendingParcels += parcelCount;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Kanal kapatılıp boşaldığında null döner
+    TickBatch take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (batches.isEmpty()) {
+                if (closed) {
+                    return null;
+                }
+                notEmpty.await();
+            }
+            TickBatch batch = batches.removeFirst();
+            pendingParcels -= batch.channelParcels;
+            notFull.signal();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package main;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Her CHECKPOINT_INTERVAL tick'te SimulationCheckpoint alır ve tek bir arka plan thread'inde yazar.
+// Önceki yazma hâlâ sürüyorsa o checkpoint atlanır; tick döngüsü diski hiç beklemez.
+public class CheckpointWriter implements AutoCloseable {
+    private final Path file;
+    private final int interval;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "checkpoint-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Future<?> inFlight;
+    private volatile int lastWrittenTick = -1; // yazma thread'i günceller, tick thread'i okur
+    private long skippedCount;
+
+    public CheckpointWriter(Path file, int interval) {
+        this.file = file;
+        this.interval = Math.max(1, interval);
+    }
+
+    // fromTick'ten saatin şimdiki tick'ine kadar ilerlendi (tek tick ya da olay modunda atlanan aralık);
+    // aralık bir CHECKPOINT_INTERVAL sınırını geçiyorsa checkpoint alınır
+    void onTicksCompleted(SimulationEngine engine, int fromTick) {
+        int tick = engine.getClock().getCurrentTick();
+        if (tick / interval == fromTick / interval) {
+            return;
+        }
+        if (inFlight != null) {
+            if (!inFlight.isDone()) {
+                skippedCount++;
+                return;
+            }
+            awaitInFlight();
+        }
+        SimulationCheckpoint checkpoint = SimulationCheckpoint.capture(engine);
+        inFlight = executor.submit(() -> {
+            try {
+                checkpoint.writeTo(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write checkpoint " + file, e);
+            }
+            lastWrittenTick = checkpoint.getTick();
+        });
+    }
+
+    // Yazma hatası bir sonraki checkpoint'te veya kapanışta tick thread'ine taşınır
+    private void awaitInFlight() {
+        try {
+            inFlight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Checkpoint write failed", e.getCause());
+        } finally {
+            inFlight = null;
+        }
+    }
+
+    public int getLastWrittenTick() {
+        return lastWrittenTick;
+    }
+
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (inFlight != null) {
+                awaitInFlight();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -1,95 +1,366 @@
-package main;
-import java.io.*;
-import java.util.*;
-
-public class ConfigManager {
-    private int maxTicks;
-    private int queueCapacity;
-    private int terminalRotationInterval;
-    private int parcelPerTickMin;
-    private int parcelPerTickMax;
-    private double misroutingRate;
-    private String[] cityList;
-
-    public ConfigManager(String filePath) throws IOException {
-        loadConfig(filePath);
-    }
-
-    private void loadConfig(String filePath) throws IOException {
-        BufferedReader reader = new BufferedReader(new FileReader(filePath));
-        String line;
-
-        while ((line = reader.readLine()) != null) {
-            line = line.trim();
-            if (line.isEmpty() || line.startsWith("#"))
-                continue;
-
-            String[] parts = line.split("=", 2);
-            if (parts.length != 2)
-                continue;
-
-            String key = parts[0].trim().toUpperCase();
-            String value = parts[1].trim();
-
-            switch (key) {
-                case "MAX_TICKS":
-                    maxTicks = Integer.parseInt(value);
-                    break;
-                case "QUEUE_CAPACITY":
-                    queueCapacity = Integer.parseInt(value);
-                    break;
-                case "TERMINAL_ROTATION_INTERVAL":
-                    terminalRotationInterval = Integer.parseInt(value);
-                    break;
-                case "PARCEL_PER_TICK_MIN":
-                    parcelPerTickMin = Integer.parseInt(value);
-                    break;
-                case "PARCEL_PER_TICK_MAX":
-                    parcelPerTickMax = Integer.parseInt(value);
-                    break;
-                case "MISROUTING_RATE":
-                    misroutingRate = Double.parseDouble(value);
-                    break;
-                case "CITY_LIST":
-                    cityList = Arrays.stream(value.split(","))
-                            .map(String::trim)
-                            .filter(s -> !s.isEmpty())
-                            .toArray(String[]::new);
-                    break;
-                default:
-                    System.err.println("Unknown config key: " + key);
-            }
-        }
-
-        reader.close();
-    }
-
-    // Getter metotları
-    public int getMaxTicks() {
-        return maxTicks;
-    }
-
-    public int getQueueCapacity() {
-        return queueCapacity;
-    }
-
-    public int getTerminalRotationInterval() {
-        return terminalRotationInterval;
-    }
-
-    public int getParcelPerTickMin() {
-        return parcelPerTickMin;
-    }
-
-    public int getParcelPerTickMax() {
-        return parcelPerTickMax;
-    }
-
-    public double getMisroutingRate() {
-        return misroutingRate;
-    }
-
-    public String[] getCityList() {
-        return cityList;
-    }
-}
+package main;
+import data_sturcts.ParcelTracker;
+import data_sturcts.TerminalRotator;
+import java.io.*;
+import java.util.*;
+
+public class ConfigManager {
+    private int maxTicks;
+    private int queueCapacity;
+    private int terminalRotationInterval;
+    private int parcelPerTickMin;
+    private int parcelPerTickMax;
+    private double misroutingRate;
+    private String[] cityList;
+    private int dispatchPerTick;
+    private int activeTerminals = 1;
+    private String metricsFile;
+    private int metricsInterval = 10;
+    private int logSampleEvery = 1;
+    private String journalDir;
+    private int journalSegmentMb = 64;
+    private int journalSyncInterval;
+    private String checkpointFile;
+    private String manifestFile;
+    private String tickReportFile;
+    private String reportFile = "report.txt";
+    private int checkpointInterval = 1000;
+    private long seed;
+    private boolean seedSet;
+    private int parcelPoolSize;
+    private int maxReturnCount = 3;
+    private TerminalRotator.Mode terminalRotationMode = TerminalRotator.Mode.ROUND_ROBIN;
+    private ParcelTracker.Storage trackerStorage = ParcelTracker.Storage.HEAP;
+    private SimulationEngine.TimeAdvance timeAdvance = SimulationEngine.TimeAdvance.TICK;
+    private HubTransport.Kind hubTransport = HubTransport.Kind.TCP;
+    private int hubPort = 47100;
+    private String hubSocketDir;
+    private int hubBatchSize = 1024;
+    private final Map<String, String> values = new LinkedHashMap<>(); // okunan anahtar/değerler
+
+    public ConfigManager(String filePath) throws IOException {
+        loadConfig(filePath);
+        chooseSeed();
+        validate();
+    }
+
+    // Dosya olmadan, bellekteki anahtar/değerlerden (ör. parametre taraması); bilinmeyen anahtar hatadır
+    public ConfigManager(Map<String, String> entries) {
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            String key = entry.getKey().trim().toUpperCase();
+            if (!apply(key, entry.getValue().trim())) {
+                throw new IllegalArgumentException("Unknown config key: " + key);
+            }
+        }
+        chooseSeed();
+        validate();
+    }
+
+    // Verilen anahtarları değiştirilmiş yeni bir config; bu nesne değişmez.
+    // SEED verilmemişse bu config'in seed'i taşınır, böylece senaryolar aynı parcel dizisini görür.
+    public ConfigManager withOverrides(Map<String, String> overrides) {
+        Map<String, String> merged = new LinkedHashMap<>(values);
+        merged.put("SEED", Long.toString(seed));
+        for (Map.Entry<String, String> entry : overrides.entrySet()) {
+            merged.put(entry.getKey().trim().toUpperCase(), entry.getValue().trim());
+        }
+        return new ConfigManager(merged);
+    }
+
+    private void loadConfig(String filePath) throws IOException {
+        BufferedReader reader = new BufferedReader(new FileReader(filePath));
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#"))
+                continue;
+
+            String[] parts = line.split("=", 2);
+            if (parts.length != 2)
+                continue;
+
+            String key = parts[0].trim().toUpperCase();
+            String value = parts[1].trim();
+            if (!apply(key, value)) {
+                System.err.println("Unknown config key: " + key);
+            }
+        }
+
+        reader.close();
+    }
+
+    // Bilinen anahtarı uygular; bilinmiyorsa false döner
+    private boolean apply(String key, String value) {
+        switch (key) {
+            case "MAX_TICKS":
+                maxTicks = Integer.parseInt(value);
+                break;
+            case "QUEUE_CAPACITY":
+                queueCapacity = Integer.parseInt(value);
+                break;
+            case "TERMINAL_ROTATION_INTERVAL":
+                terminalRotationInterval = Integer.parseInt(value);
+                break;
+            case "TERMINAL_ROTATION_MODE":
+                terminalRotationMode = TerminalRotator.Mode.valueOf(value.toUpperCase());
+                break;
+            case "TRACKER_STORAGE":
+                trackerStorage = ParcelTracker.Storage.valueOf(value.toUpperCase());
+                break;
+            case "TIME_ADVANCE":
+                timeAdvance = SimulationEngine.TimeAdvance.valueOf(value.toUpperCase());
+                break;
+            case "HUB_TRANSPORT":
+                hubTransport = HubTransport.Kind.valueOf(value.toUpperCase());
+                break;
+            case "HUB_PORT":
+                hubPort = Integer.parseInt(value);
+                break;
+            case "HUB_SOCKET_DIR":
+                hubSocketDir = value.isEmpty() ? null : value;
+                break;
+            case "HUB_BATCH_SIZE":
+                hubBatchSize = Integer.parseInt(value);
+                break;
+            case "PARCEL_PER_TICK_MIN":
+                parcelPerTickMin = Integer.parseInt(value);
+                break;
+            case "PARCEL_PER_TICK_MAX":
+                parcelPerTickMax = Integer.parseInt(value);
+                break;
+            case "MISROUTING_RATE":
+                misroutingRate = Double.parseDouble(value);
+                break;
+            case "SEED":
+                seed = Long.parseLong(value);
+                seedSet = true;
+                break;
+            case "PARCEL_POOL_SIZE":
+                parcelPoolSize = Integer.parseInt(value);
+                break;
+            case "MAX_RETURN_COUNT":
+                maxReturnCount = Integer.parseInt(value);
+                break;
+            case "ACTIVE_TERMINALS":
+                activeTerminals = Integer.parseInt(value);
+                break;
+            case "METRICS_FILE":
+                metricsFile = value.isEmpty() ? null : value;
+                break;
+            case "METRICS_INTERVAL":
+                metricsInterval = Integer.parseInt(value);
+                break;
+            case "LOG_SAMPLE_EVERY":
+                logSampleEvery = Integer.parseInt(value);
+                break;
+            case "JOURNAL_DIR":
+                journalDir = value.isEmpty() ? null : value;
+                break;
+            case "JOURNAL_SEGMENT_MB":
+                journalSegmentMb = Integer.parseInt(value);
+                break;
+            case "JOURNAL_SYNC_INTERVAL":
+                journalSyncInterval = Integer.parseInt(value);
+                break;
+            case "CHECKPOINT_FILE":
+                checkpointFile = value.isEmpty() ? null : value;
+                break;
+            case "TICK_REPORT_FILE":
+                tickReportFile = value.isEmpty() ? null : value;
+                break;
+            case "REPORT_FILE":
+                reportFile = value;
+                break;
+            case "MANIFEST_FILE":
+                manifestFile = value.isEmpty() ? null : value;
+                break;
+            case "CHECKPOINT_INTERVAL":
+                checkpointInterval = Integer.parseInt(value);
+                break;
+            case "DISPATCH_PER_TICK":
+                dispatchPerTick = Integer.parseInt(value);
+                break;
+            case "CITY_LIST":
+                cityList = Arrays.stream(value.split(","))
+                        .map(String::trim)
+                        .filter(s -> !s.isEmpty())
+                        .toArray(String[]::new);
+                break;
+            default:
+                return false;
+        }
+        values.put(key, value);
+        return true;
+    }
+
+    // SEED verilmezse her çalıştırma farklıdır; seçilen değer getSeed() ile okunabilir
+    private void chooseSeed() {
+        if (!seedSet) {
+            seed = System.nanoTime();
+        }
+    }
+
+    // Anahtarlar arası kısıtlar: günlük kaydı terminali bir bayt, şehri iki bayt olarak tutar
+    private void validate() {
+        if (journalDir == null) {
+            return;
+        }
+        if (getActiveTerminals() > EventJournal.MAX_TERMINALS) {
+            throw new IllegalArgumentException("ACTIVE_TERMINALS " + getActiveTerminals()
+                    + " exceeds the journal limit of " + EventJournal.MAX_TERMINALS + " terminals");
+        }
+        if (cityList != null && cityList.length > EventJournal.MAX_CITIES) {
+            throw new IllegalArgumentException("CITY_LIST has " + cityList.length
+                    + " cities, the journal supports at most " + EventJournal.MAX_CITIES);
+        }
+    }
+
+    // Getter metotları
+    public int getMaxTicks() {
+        return maxTicks;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getTerminalRotationInterval() {
+        return terminalRotationInterval;
+    }
+
+    // ROUND_ROBIN (varsayılan), SKIP_EMPTY veya WEIGHTED
+    public TerminalRotator.Mode getTerminalRotationMode() {
+        return terminalRotationMode;
+    }
+
+    // HEAP (varsayılan) veya OFF_HEAP: tracker kayıtları heap dışı ByteBuffer'larda tutulur
+    public ParcelTracker.Storage getTrackerStorage() {
+        return trackerStorage;
+    }
+
+    // TICK (varsayılan): her tick işlenir; EVENT: saat bir sonraki olaya atlar, boş tick'ler atlanır
+    public SimulationEngine.TimeAdvance getTimeAdvance() {
+        return timeAdvance;
+    }
+
+    public int getParcelPerTickMin() {
+        return parcelPerTickMin;
+    }
+
+    public int getParcelPerTickMax() {
+        return parcelPerTickMax;
+    }
+
+    public double getMisroutingRate() {
+        return misroutingRate;
+    }
+
+    public String[] getCityList() {
+        return cityList;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // SEED config'te verilmiş mi (verilmemişse her süreç kendi seed'ini seçer)
+    public boolean isSeedSet() {
+        return seedSet;
+    }
+
+    // 0: parcel nesneleri yeniden kullanılmaz
+    public int getParcelPoolSize() {
+        return parcelPoolSize;
+    }
+
+    // Bir parcel en fazla bu kadar kez iade edilip yeniden sıralanır (varsayılan: 3)
+    public int getMaxReturnCount() {
+        return maxReturnCount;
+    }
+
+    // Metrik snapshot dosyası (.json veya .csv); null ise metrikler dosyaya yazılmaz
+    public String getMetricsFile() {
+        return metricsFile;
+    }
+
+    // Kaç tick'te bir snapshot alınır (varsayılan: 10)
+    public int getMetricsInterval() {
+        return Math.max(1, metricsInterval);
+    }
+
+    // FINE seviyesindeki olay logları her N olayda bir yazılır (varsayılan: 1, hepsi)
+    public int getLogSampleEvery() {
+        return Math.max(1, logSampleEvery);
+    }
+
+    // Olay günlüğü klasörü; null ise günlük tutulmaz
+    public String getJournalDir() {
+        return journalDir;
+    }
+
+    // Segment dosyası boyutu, MB (varsayılan: 64)
+    public int getJournalSegmentMb() {
+        return Math.max(1, Math.min(1024, journalSegmentMb));
+    }
+
+    // Kaç tick'te bir günlük diske zorlanır; 0: yalnızca kapanışta (varsayılan)
+    public int getJournalSyncInterval() {
+        return journalSyncInterval;
+    }
+
+    // Tick başına satırların yazıldığı ikili sütunlu dosya; null ise tick raporu tutulmaz
+    public String getTickReportFile() {
+        return tickReportFile;
+    }
+
+    // Tick raporunun çalışma sonunda özetlendiği metin dosyası (varsayılan: report.txt)
+    public String getReportFile() {
+        return reportFile;
+    }
+
+    // Parcel'ların okunacağı CSV manifest; null ise parcel'lar rastgele üretilir
+    public String getManifestFile() {
+        return manifestFile;
+    }
+
+    // Checkpoint dosyası; null ise checkpoint alınmaz
+    public String getCheckpointFile() {
+        return checkpointFile;
+    }
+
+    // Kaç tick'te bir checkpoint alınır (varsayılan: 1000)
+    public int getCheckpointInterval() {
+        return Math.max(1, checkpointInterval);
+    }
+
+    // Hub süreçleri arası bağlantı: TCP (varsayılan, localhost) veya UNIX (Unix domain socket)
+    public HubTransport.Kind getHubTransport() {
+        return hubTransport;
+    }
+
+    // TCP: hub i, HUB_PORT + i'yi dinler (varsayılan: 47100); UNIX'te soket adlarını ayırır
+    public int getHubPort() {
+        return hubPort;
+    }
+
+    // UNIX soket dosyalarının klasörü (varsayılan: java.io.tmpdir)
+    public String getHubSocketDir() {
+        return hubSocketDir != null ? hubSocketDir : System.getProperty("java.io.tmpdir");
+    }
+
+    // Hub'lar arası bir çerçevedeki en fazla parcel (varsayılan: 1024)
+    public int getHubBatchSize() {
+        return Math.max(1, hubBatchSize);
+    }
+
+    // Aynı tick'te gönderim yapan terminal sayısı (varsayılan: 1); şehir sayısıyla sınırlıdır
+    public int getActiveTerminals() {
+        return Math.max(1, activeTerminals);
+    }
+
+    // Aktif terminalin bir tick'te gönderebileceği en fazla parcel (varsayılan: PARCEL_PER_TICK_MAX)
+    public int getDispatchPerTick() {
+        return dispatchPerTick > 0 ? dispatchPerTick : parcelPerTickMax;
+    }
+}
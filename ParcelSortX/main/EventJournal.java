@@ -0,0 +1,193 @@
+package main;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Parcel yaşam döngüsü için sadece eklemeli, segmentli, memory-mapped olay günlüğü.
+//
+// Segment dosyası: journal-NNNNNN.seg, sabit boyutlu ve baştan map edilir.
+//   başlık (16 bayt): magic (int), kayıt boyutu (int), commit edilmiş kayıt sayısı (long)
+//   kayıt  (16 bayt): parcel ID (long), tick (int), olay (byte), terminal (byte), şehir (short)
+//
+// append() yalnızca map edilmiş belleğe yazar (sistem çağrısı yok). commit() tick sonunda
+// başlıktaki sayıyı günceller; okuyucu yalnızca commit edilmiş kayıtları görür, bu yüzden
+// yarıda kesilen bir tick günlükte hiç yokmuş gibi davranır. sync() diske zorlar (msync).
+// Segment tick ortasında dolarsa o tick'in commit edilmemiş kayıtları yeni segmente taşınır;
+// eski segmentin sayısı son commit'teki gibi kalır, böylece commit her zaman tek başlık yazar.
+public class EventJournal implements AutoCloseable {
+
+    public enum EventType {
+        ARRIVED,
+        SORTED,
+        DISPATCHED,
+        RETURNED
+    }
+
+    static final int MAGIC = 0x50534A31; // "PSJ1"
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 16;
+    static final int COUNT_OFFSET = 8;
+    static final int MAX_TERMINALS = 1 << 8;            // terminal 0..255, tek bayt
+    static final int MAX_CITIES = Short.MAX_VALUE + 1;  // şehir 0..32767, short
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final long segmentBytes;
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+    private int segmentRecords; // bu segmentte yazılmış (commit edilmemiş olabilir)
+    private int segmentCommitted; // bu segmentte son commit'teki kayıt sayısı
+    private long committedBefore; // önceki segmentlerdeki toplam kayıt
+    private long committedRecords;
+
+    // resume: mevcut günlüğe son commit edilmiş kayıttan sonra devam eder (checkpoint'ten devam
+    // ederken; fazlası rollbackTo ile geri alınır). Aksi halde eski segmentler silinir, yoksa
+    // aynı parcel ID'leri ve 0'dan başlayan tick'lerle ikinci bir akış eklenirdi.
+    public EventJournal(Path directory, int segmentSizeBytes, boolean resume) throws IOException {
+        this.directory = directory;
+        this.recordsPerSegment = Math.max(1, (segmentSizeBytes - HEADER_SIZE) / RECORD_SIZE);
+        this.segmentBytes = HEADER_SIZE + (long) recordsPerSegment * RECORD_SIZE;
+        Files.createDirectories(directory);
+        if (!resume) {
+            for (int i = 0; Files.exists(segmentPath(directory, i)); i++) {
+                Files.delete(segmentPath(directory, i));
+            }
+        }
+
+        int index = 0;
+        long before = 0;
+        while (Files.exists(segmentPath(directory, index + 1))) {
+            before += JournalReader.committedCount(segmentPath(directory, index));
+            index++;
+        }
+        openSegment(index, segmentBytes);
+        committedBefore = before;
+        segmentRecords = (int) JournalReader.committedCount(segmentPath(directory, index));
+        segmentCommitted = segmentRecords;
+        committedRecords = before + segmentRecords;
+    }
+
+    static Path segmentPath(Path directory, int index) {
+        return directory.resolve(String.format("journal-%06d.seg", index));
+    }
+
+    // freshBytes: yeni oluşturulan segmentin boyutu (mevcut segment kendi boyutuyla açılır)
+    private void openSegment(int index, long freshBytes) throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+        segmentIndex = index;
+        Path path = segmentPath(directory, index);
+        boolean fresh = !Files.exists(path);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        long size = fresh ? freshBytes : Math.max(channel.size(), HEADER_SIZE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        if (fresh) {
+            segment.putInt(0, MAGIC);
+            segment.putInt(4, RECORD_SIZE);
+            segment.putLong(COUNT_OFFSET, 0);
+        } else if (segment.getInt(0) != MAGIC) {
+            throw new IOException("Not a journal segment: " + path);
+        }
+        segmentRecords = 0;
+        segmentCommitted = 0;
+    }
+
+    public void append(int tick, long parcelID, EventType type, int cityId, int terminal) {
+        if (terminal < 0 || terminal >= MAX_TERMINALS || cityId < 0 || cityId >= MAX_CITIES) {
+            throw new IllegalArgumentException("Journal record out of range: city " + cityId + ", terminal " + terminal);
+        }
+        if ((long) (segmentRecords + 1) * RECORD_SIZE + HEADER_SIZE > segment.capacity()) {
+            rollSegment();
+        }
+        int position = HEADER_SIZE + segmentRecords * RECORD_SIZE;
+        segment.putLong(position, parcelID);
+        segment.putInt(position + 8, tick);
+        segment.put(position + 12, (byte) type.ordinal());
+        segment.put(position + 13, (byte) terminal);
+        segment.putShort(position + 14, (short) cityId);
+        segmentRecords++;
+    }
+
+    // Dolan segment son commit'teki sayısıyla bırakılır; içinde bulunulan tick'in kayıtları
+    // sıradaki segmentin başına kopyalanır ve bir sonraki commit() ile görünür olur. Tek bir
+    // tick bir segmentten büyükse yeni segment onu sığdıracak kadar büyük açılır.
+    private void rollSegment() {
+        try {
+            MappedByteBuffer full = segment;
+            int committed = segmentCommitted;
+            int pending = segmentRecords - committed;
+            full.force();
+            committedBefore += committed;
+            long needed = HEADER_SIZE + 2L * pending * RECORD_SIZE;
+            openSegment(segmentIndex + 1, Math.max(segmentBytes, needed));
+            segment.put(HEADER_SIZE, full, HEADER_SIZE + committed * RECORD_SIZE, pending * RECORD_SIZE);
+            segmentRecords = pending;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to roll journal segment", e);
+        }
+    }
+
+    // Tick sonunda bir kez: bu ana kadar eklenen kayıtlar okuyuculara görünür olur
+    public void commit() {
+        segment.putLong(COUNT_OFFSET, segmentRecords);
+        segmentCommitted = segmentRecords;
+        committedRecords = committedBefore + segmentRecords;
+    }
+
+    // Commit edilmiş kayıtları sequence'e kadar geri alır, sonraki segmentleri siler
+    // (checkpoint'ten devam ederken checkpoint sonrası kuyruk yeniden üretilir)
+    public void rollbackTo(long sequence) throws IOException {
+        if (sequence < 0 || sequence > committedRecords) {
+            throw new IllegalArgumentException("Cannot roll back to record " + sequence
+                    + " (journal has " + committedRecords + ")");
+        }
+        int index = 0;
+        long before = 0;
+        while (Files.exists(segmentPath(directory, index + 1))) {
+            long count = JournalReader.committedCount(segmentPath(directory, index));
+            if (before + count >= sequence) {
+                break;
+            }
+            before += count;
+            index++;
+        }
+        for (int i = index + 1; Files.exists(segmentPath(directory, i)); i++) {
+            Files.delete(segmentPath(directory, i));
+        }
+        openSegment(index, segmentBytes);
+        committedBefore = before;
+        segmentRecords = (int) (sequence - before);
+        commit();
+        segment.force();
+    }
+
+    public void sync() {
+        segment.force();
+    }
+
+    // Commit edilmiş toplam kayıt sayısı (tüm segmentler)
+    public long getRecordCount() {
+        return committedRecords;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        commit();
+        segment.force();
+        channel.close();
+    }
+}
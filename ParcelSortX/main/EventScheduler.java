@@ -0,0 +1,52 @@
+package main;
+
+import java.util.PriorityQueue;
+
+// Olay tabanlı zaman ilerletme için bekleyen olayların öncelik kuyruğu (en erken tick önce).
+// Olay (tick, tür) tek bir long'a paketlenir; aynı tick'teki olaylar tek seferde alınır ve
+// motor o tick'i bir kez işler. Aynı (tick, tür) iki kez eklenirse tek olay sayılır.
+class EventScheduler {
+
+    enum EventType {
+        ARRIVAL,  // kaynaktan parcel gelişi
+        RETURN,   // iade yığınındaki parcel'ların yeniden sıralanması
+        DISPATCH  // sorter'da bekleyen parcel'lar: aktif terminaller gönderim yapar
+    }
+
+    static final int NONE = Integer.MAX_VALUE;
+
+    private static final int TYPE_BITS = 8;
+
+    private final PriorityQueue<Long> events = new PriorityQueue<>();
+
+    void schedule(int tick, EventType type) {
+        events.add(((long) tick << TYPE_BITS) | type.ordinal());
+    }
+
+    // En erken olayın tick'i; kuyruk boşsa NONE
+    int peekTick() {
+        Long head = events.peek();
+        return (head != null) ? (int) (head >>> TYPE_BITS) : NONE;
+    }
+
+    // tick'teki tüm olayları kuyruktan çıkarır, türlerini bit maskesi olarak döner
+    int pollTick(int tick) {
+        int types = 0;
+        while (!events.isEmpty() && (int) (events.peek() >>> TYPE_BITS) == tick) {
+            types |= 1 << (int) (events.poll() & ((1 << TYPE_BITS) - 1));
+        }
+        return types;
+    }
+
+    static boolean contains(int types, EventType type) {
+        return (types & (1 << type.ordinal())) != 0;
+    }
+
+    void clear() {
+        events.clear();
+    }
+
+    int size() {
+        return events.size();
+    }
+}
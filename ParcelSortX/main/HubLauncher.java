@@ -0,0 +1,82 @@
+package main;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// --hubs N, --hub verilmeden çalıştırılınca N hub sürecini aynı makinede başlatır. Her süreç aynı
+// classpath, JVM seçenekleri ve argümanlarla (+ --hub i) çalışır; çıktısı hub-<i>.log'a yazılır.
+// Hepsi bitince her hub'ın özet satırı ve sayaçların toplamı yazdırılır.
+final class HubLauncher {
+
+    private HubLauncher() {
+    }
+
+    // Tüm hub'lar başarıyla bittiyse true döner
+    static boolean run(int count, String[] args) throws IOException, InterruptedException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Process[] processes = new Process[count];
+        for (int hub = 0; hub < count; hub++) {
+            List<String> command = new ArrayList<>();
+            command.add(java);
+            command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(Main.class.getName());
+            command.addAll(Arrays.asList(args));
+            command.add("--hub");
+            command.add(Integer.toString(hub));
+            processes[hub] = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(logFile(hub).toFile())
+                    .start();
+        }
+
+        // Bir hub düşerse komşuları bağlantı kopunca hata ile çıkar; hepsi beklenir
+        boolean succeeded = true;
+        for (int hub = 0; hub < count; hub++) {
+            int exit = processes[hub].waitFor();
+            if (exit != 0) {
+                System.err.println("Hub " + hub + " failed with exit code " + exit + ", see " + logFile(hub));
+                succeeded = false;
+            }
+        }
+
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (int hub = 0; hub < count; hub++) {
+            String prefix = "Hub " + hub + "/" + count + ":";
+            for (String line : Files.readAllLines(logFile(hub))) {
+                if (line.startsWith(prefix)) {
+                    System.out.println(line);
+                    addCounters(line.substring(prefix.length()), totals);
+                }
+            }
+        }
+        if (succeeded) {
+            StringBuilder total = new StringBuilder("Total:");
+            totals.forEach((key, value) -> total.append(' ').append(key).append('=').append(value));
+            System.out.println(total);
+        }
+        return succeeded;
+    }
+
+    private static void addCounters(String fields, Map<String, Long> totals) {
+        for (String field : fields.trim().split("\\s+")) {
+            int eq = field.indexOf('=');
+            if (eq > 0) {
+                totals.merge(field.substring(0, eq), Long.parseLong(field.substring(eq + 1)), Long::sum);
+            }
+        }
+    }
+
+    private static Path logFile(int hub) {
+        return Paths.get("hub-" + hub + ".log");
+    }
+}
@@ -0,0 +1,216 @@
+package main;
+
+import data_sturcts.CityIndex;
+import data_sturcts.ReturnStack;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Ülke ağını birden çok sürece bölen hub. CITY_LIST'teki şehir g, hub g % N'e aittir; her hub
+// yalnızca kendi şehirleriyle bir SimulationEngine (DestinationSorter ve ParcelTracker parçası)
+// çalıştırır. Parcel'lar tüm ağ için tek bir akıştan (seed ya da manifest) gelir ve ID'si
+// i mod N olanlar hub i'de doğar. Hub'lar arası iletim HubTransport ile yapılır:
+//   - başka hub'ın şehrine giden yeni parcel: aynı tick'te o hub'a varır
+//   - yanlış yönlendirilen iade: şehrin hub'ından yanlış gittiği hub'a, oradan bir sonraki tick'te
+//     şehrin hub'ına geri döner ve ReturnStack'e girip yeniden sıralanır
+// Motor bu sınıfı parcel kaynağı olarak kullanır; tick'in değişimi generate aşamasında yapılır.
+// Gelen parcel'lar kaynak hub sırasıyla birleştirilir, bu yüzden sonuç zamanlamadan bağımsızdır.
+public class HubNode implements ParcelSource, HubTransport.FrameSink {
+
+    private final int index;
+    private final int count;
+    private final HubTransport transport;
+    private final CityIndex globalCities;
+    private final CityIndex localCities;
+    private final ReturnStack returnStack;
+    private final long routeSeed;
+    private ParcelSource source;
+
+    private final List<Parcel> arrivals = new ArrayList<>();
+    private final List<List<Parcel>> inboundArrivals = new ArrayList<>(); // kaynak hub başına
+    private final List<List<Parcel>> inboundReturns = new ArrayList<>();
+    private final List<Parcel> outboundReturns = new ArrayList<>(); // şehir ID'leri yerel
+    private final List<Parcel> bounces = new ArrayList<>();         // şehir ID'leri global
+
+    // İstatistikler
+    private long forwardedParcels;
+    private long receivedParcels;
+    private long routedReturns;
+    private long bouncedReturns;
+
+    // engine, hubConfig() ile oluşturulmuş olmalı; transport bağlantıları kurulmuş olmalı
+    public HubNode(ConfigManager config, SimulationEngine engine, HubTransport transport) {
+        this.index = transport.getIndex();
+        this.count = transport.getCount();
+        this.transport = transport;
+        this.globalCities = new CityIndex(config.getCityList());
+        this.localCities = engine.getCities();
+        this.returnStack = engine.getReturnStack();
+        this.routeSeed = SplitMix64.mix(~config.getSeed());
+        for (int hub = 0; hub < count; hub++) {
+            inboundArrivals.add(new ArrayList<>());
+            inboundReturns.add(new ArrayList<>());
+        }
+
+        ParcelGenerator generator = new ParcelGenerator(globalCities,
+                config.getParcelPerTickMin(), config.getParcelPerTickMax(), config.getSeed());
+        generator.setPartition(index, count);
+        this.source = generator;
+    }
+
+    // Hub'ın kendi config'i: yalnızca sahip olduğu şehirler (global sırayla, yerel ID = g / N) ve
+    // hub'a özel çıktı dosyaları. Checkpoint hub modunda desteklenmez.
+    public static ConfigManager hubConfig(ConfigManager config, int index, int count) {
+        String[] cities = config.getCityList();
+        if (count > cities.length) {
+            throw new IllegalArgumentException("HUB count " + count + " exceeds the " + cities.length + " cities");
+        }
+        List<String> owned = new ArrayList<>();
+        for (int cityId = index; cityId < cities.length; cityId += count) {
+            owned.add(cities[cityId]);
+        }
+        Map<String, String> overrides = new HashMap<>();
+        overrides.put("CITY_LIST", String.join(",", owned));
+        overrides.put("CHECKPOINT_FILE", "");
+        overrides.put("REPORT_FILE", withHubSuffix(config.getReportFile(), index));
+        if (config.getMetricsFile() != null) {
+            overrides.put("METRICS_FILE", withHubSuffix(config.getMetricsFile(), index));
+        }
+        if (config.getJournalDir() != null) {
+            overrides.put("JOURNAL_DIR", config.getJournalDir() + "-hub" + index);
+        }
+        if (config.getTickReportFile() != null) {
+            overrides.put("TICK_REPORT_FILE", withHubSuffix(config.getTickReportFile(), index));
+        }
+        return config.withOverrides(overrides);
+    }
+
+    // metrics.csv -> metrics-hub1.csv
+    private static String withHubSuffix(String file, int index) {
+        String name = Paths.get(file).getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        int split = (dot > 0) ? file.length() - name.length() + dot : file.length();
+        return file.substring(0, split) + "-hub" + index + file.substring(split);
+    }
+
+    // Varsayılan kaynak tüm ağın ParcelGenerator'ıdır (bu hub'ın bölümü); manifest oynatırken
+    // ManifestReader global şehir index'iyle (getGlobalCities) açılıp buraya verilir
+    public void setParcelSource(ParcelSource source) {
+        this.source = source;
+    }
+
+    public CityIndex getGlobalCities() {
+        return globalCities;
+    }
+
+    @Override
+    public Parcel[] parcelsForTick(int tick) {
+        transport.beginTick(tick);
+        for (int i = 0; i < bounces.size(); i++) {
+            Parcel parcel = bounces.get(i);
+            transport.send(parcel.getCityId() % count, parcel, parcel.getCityId(), true);
+        }
+        bouncedReturns += bounces.size();
+        bounces.clear();
+        for (int i = 0; i < outboundReturns.size(); i++) {
+            Parcel parcel = outboundReturns.get(i);
+            transport.send(wrongHubOf(parcel), parcel, parcel.getCityId() * count + index, true);
+        }
+        routedReturns += outboundReturns.size();
+        outboundReturns.clear();
+
+        arrivals.clear();
+        for (Parcel parcel : source.parcelsForTick(tick)) {
+            if (Math.floorMod(parcel.getNumericID(), count) != index) {
+                continue; // başka hub'da doğar (manifest tüm ağın satırlarını içerir)
+            }
+            int cityId = globalCities.idOf(parcel);
+            int owner = cityId % count;
+            if (owner == index) {
+                int local = cityId / count;
+                parcel.reset(parcel.getNumericID(), local, localCities.nameOf(local), parcel.getPriority(),
+                        parcel.getSize(), parcel.getArrivalTick());
+                arrivals.add(parcel);
+            } else {
+                transport.send(owner, parcel, cityId, false);
+                forwardedParcels++;
+            }
+        }
+
+        try {
+            transport.exchange(this);
+        } catch (IOException e) {
+            throw new IllegalStateException("Hub " + index + " failed to exchange tick " + tick, e);
+        }
+
+        for (int hub = 0; hub < count; hub++) {
+            arrivals.addAll(inboundArrivals.get(hub));
+            inboundArrivals.get(hub).clear();
+            returnStack.pushAll(inboundReturns.get(hub));
+            inboundReturns.get(hub).clear();
+        }
+        return arrivals.toArray(new Parcel[0]);
+    }
+
+    @Override
+    public void accept(int sourceHub, long parcelID, int cityId, int priority, Parcel.Size size,
+                       int returnCount, int arrivalTick, boolean returned) {
+        if (cityId % count != index) {
+            if (!returned) {
+                throw new IllegalStateException("Hub " + sourceHub + " forwarded parcel P" + parcelID
+                        + " to the wrong hub");
+            }
+            // Yanlış gelen iade: bir sonraki tick'te şehrin hub'ına geri gönderilir
+            Parcel parcel = new Parcel(parcelID, cityId, globalCities.nameOf(cityId), priority, size, arrivalTick);
+            parcel.restoreState(Parcel.Status.Returned, -1, returnCount);
+            bounces.add(parcel);
+            return;
+        }
+        int local = cityId / count;
+        Parcel parcel = new Parcel(parcelID, local, localCities.nameOf(local), priority, size, arrivalTick);
+        receivedParcels++;
+        if (returned) {
+            parcel.restoreState(Parcel.Status.Returned, -1, returnCount);
+            inboundReturns.get(sourceHub).add(parcel);
+        } else {
+            inboundArrivals.get(sourceHub).add(parcel);
+        }
+    }
+
+    // Motorun dispatch aşaması çağırır: yanlış yönlendirilenler bir sonraki tick'te başka bir hub'a
+    // gider (hangisi olduğu seed, parcel ID ve iade sayısından türetilir)
+    void routeReturns(List<Parcel> returned) {
+        outboundReturns.addAll(returned);
+    }
+
+    private int wrongHubOf(Parcel parcel) {
+        long bits = SplitMix64.at(SplitMix64.at(routeSeed, parcel.getNumericID()), parcel.getReturnCount());
+        return (index + 1 + SplitMix64.nextInt(bits, count - 1)) % count;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public long getForwardedParcels() {
+        return forwardedParcels;
+    }
+
+    public long getReceivedParcels() {
+        return receivedParcels;
+    }
+
+    // Tek satır, anahtar=değer: HubLauncher tüm hub'ların satırlarını toplar
+    public String getSummary(SimulationEngine engine) {
+        return String.format("Hub %d/%d: generated=%d dispatched=%d returned=%d dropped=%d backlog=%d"
+                        + " forwarded=%d received=%d routedReturns=%d bounced=%d frames=%d bytes=%d exchangeMs=%d",
+                index, count, engine.getGeneratedParcels(), engine.getDispatchedParcels(),
+                engine.getReturnedParcels(), engine.getDroppedParcels(), engine.getSorter().getTotalParcels(),
+                forwardedParcels, receivedParcels, routedReturns, bouncedReturns,
+                transport.getFramesSent(), transport.getBytesSent(), transport.getExchangeNanos() / 1_000_000);
+    }
+}
@@ -0,0 +1,419 @@
+package main;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Hub süreçleri arasında parcel taşıyan, localhost üzerinde tam bağlantılı (her hub çifti tek soket)
+// taşıma katmanı: TCP ya da Unix domain socket.
+//
+// Bir tick'te bir komşuya giden kayıtlar en fazla HUB_BATCH_SIZE kayıtlık çerçevelere bölünür:
+//   çerçeve (13 bayt başlık): uzunluk (int, kendisi hariç), tick (int), son mu (byte), kayıt sayısı (int)
+//   kayıt (19 bayt): parcel ID (long), global şehir ID (short), öncelik (byte), boyut (byte),
+//                    iade sayısı (short), geliş tick'i (int), iade mi (byte)
+// Her komşuya tick başına en az bir çerçeve gider, sonuncusu "son" olarak işaretlenir. exchange()
+// tüm komşuların son çerçevesi gelene kadar döner; tick'ler arası bariyer budur (koordinatör yok).
+// Okuma ve yazma tek Selector'da birlikte yürür: iki hub birbirine aynı anda büyük tick gönderip
+// soket tamponları dolsa da kilitlenme olmaz.
+public class HubTransport implements AutoCloseable {
+
+    public enum Kind {
+        TCP,
+        UNIX
+    }
+
+    // Çözülen her kayıt için çağrılır; bir kaynağın kayıtları gönderildiği sırayla gelir
+    public interface FrameSink {
+        void accept(int sourceHub, long parcelID, int cityId, int priority, Parcel.Size size,
+                    int returnCount, int arrivalTick, boolean returned);
+    }
+
+    static final int HEADER_SIZE = 13;
+    static final int RECORD_SIZE = 19;
+    private static final int INITIAL_BUFFER_SIZE = 64 << 10;
+    private static final int CONNECT_TIMEOUT_MILLIS = 30_000;
+    private static final Parcel.Size[] SIZES = Parcel.Size.values();
+
+    private final int index;
+    private final int count;
+    private final int batchSize;
+    private final SocketChannel[] peers;
+    private final SelectionKey[] keys;
+    private final Selector selector;
+    private final ByteBuffer[] sendBuffers;
+    private final ByteBuffer[] receiveBuffers;
+    private final int[] frameStart;
+    private final int[] frameRecords;
+    private final boolean[] received;
+    private int tick;
+
+    // İstatistikler
+    private long framesSent;
+    private long recordsSent;
+    private long bytesSent;
+    private long recordsReceived;
+    private long exchangeNanos;
+
+    // Hub index, count hub'lık ağa katılır: kendi adresini dinler, küçük index'li hub'lara bağlanır,
+    // büyüklerden gelen bağlantıları kabul eder. Tüm komşular bağlanınca döner.
+    public HubTransport(Kind kind, int basePort, Path socketDir, int index, int count, int batchSize)
+            throws IOException {
+        if (count < 2 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid hub " + index + " of " + count);
+        }
+        this.index = index;
+        this.count = count;
+        this.batchSize = Math.max(1, batchSize);
+        this.peers = new SocketChannel[count];
+        this.keys = new SelectionKey[count];
+        this.sendBuffers = new ByteBuffer[count];
+        this.receiveBuffers = new ByteBuffer[count];
+        this.frameStart = new int[count];
+        this.frameRecords = new int[count];
+        this.received = new boolean[count];
+
+        try {
+            connectAll(kind, basePort, socketDir);
+            this.selector = Selector.open();
+            for (int peer = 0; peer < count; peer++) {
+                if (peer == index) {
+                    continue;
+                }
+                if (kind == Kind.TCP) {
+                    peers[peer].setOption(StandardSocketOptions.TCP_NODELAY, true);
+                }
+                peers[peer].configureBlocking(false);
+                keys[peer] = peers[peer].register(selector, 0, peer);
+                sendBuffers[peer] = allocate(INITIAL_BUFFER_SIZE);
+                receiveBuffers[peer] = allocate(INITIAL_BUFFER_SIZE);
+            }
+        } catch (IOException | RuntimeException e) {
+            closePeers();
+            throw e;
+        }
+    }
+
+    private void connectAll(Kind kind, int basePort, Path socketDir) throws IOException {
+        long deadline = System.currentTimeMillis() + CONNECT_TIMEOUT_MILLIS;
+        SocketAddress own = address(kind, basePort, socketDir, index);
+        try (ServerSocketChannel server = listen(kind, own)) {
+            for (int peer = 0; peer < index; peer++) {
+                peers[peer] = connect(kind, address(kind, basePort, socketDir, peer), deadline);
+                ByteBuffer hello = allocate(8).putInt(index).putInt(count);
+                hello.flip();
+                while (hello.hasRemaining()) {
+                    peers[peer].write(hello);
+                }
+            }
+            acceptHigher(server, deadline);
+        } finally {
+            // Bağlantılar kurulduktan sonra soket dosyasına gerek yok
+            if (own instanceof UnixDomainSocketAddress) {
+                Files.deleteIfExists(((UnixDomainSocketAddress) own).getPath());
+            }
+        }
+    }
+
+    private static ServerSocketChannel listen(Kind kind, SocketAddress address) throws IOException {
+        if (kind == Kind.UNIX) {
+            Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+            ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            server.bind(address);
+            return server;
+        }
+        ServerSocketChannel server = ServerSocketChannel.open();
+        server.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        server.bind(address);
+        return server;
+    }
+
+    private static SocketAddress address(Kind kind, int basePort, Path socketDir, int hub) {
+        return (kind == Kind.UNIX)
+                ? UnixDomainSocketAddress.of(socketPath(socketDir, basePort, hub))
+                : new InetSocketAddress(InetAddress.getLoopbackAddress(), basePort + hub);
+    }
+
+    private static Path socketPath(Path socketDir, int basePort, int hub) {
+        return socketDir.resolve("parcelsortx-" + basePort + "-hub" + hub + ".sock");
+    }
+
+    // Karşı hub henüz dinlemiyorsa süre dolana kadar yeniden denenir
+    private static SocketChannel connect(Kind kind, SocketAddress address, long deadline) throws IOException {
+        while (true) {
+            SocketChannel channel = (kind == Kind.UNIX)
+                    ? SocketChannel.open(StandardProtocolFamily.UNIX)
+                    : SocketChannel.open();
+            try {
+                channel.connect(address);
+                return channel;
+            } catch (IOException e) {
+                channel.close();
+                if (System.currentTimeMillis() > deadline) {
+                    throw new IOException("Could not connect to hub at " + address, e);
+                }
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while connecting to " + address, e);
+            }
+        }
+    }
+
+    // Büyük index'li hub'lar bağlanır ve önce kendi index'lerini gönderir
+    private void acceptHigher(ServerSocketChannel server, long deadline) throws IOException {
+        int expected = count - 1 - index;
+        if (expected == 0) {
+            return;
+        }
+        server.configureBlocking(false);
+        try (Selector accepts = Selector.open()) {
+            server.register(accepts, SelectionKey.OP_ACCEPT);
+            while (expected > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new IOException("Timed out waiting for " + expected + " hub(s) to connect");
+                }
+                accepts.select(remaining);
+                accepts.selectedKeys().clear();
+                SocketChannel channel;
+                while (expected > 0 && (channel = server.accept()) != null) {
+                    channel.configureBlocking(true);
+                    ByteBuffer hello = allocate(8);
+                    while (hello.hasRemaining()) {
+                        if (channel.read(hello) < 0) {
+                            throw new IOException("Hub closed the connection during handshake");
+                        }
+                    }
+                    int peer = hello.getInt(0);
+                    if (hello.getInt(4) != count || peer <= index || peer >= count || peers[peer] != null) {
+                        channel.close();
+                        throw new IOException("Unexpected hub handshake: hub " + peer + " of " + hello.getInt(4));
+                    }
+                    peers[peer] = channel;
+                    expected--;
+                }
+            }
+        }
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Yeni tick'in çerçevelerine başlar (önceki tick'in exchange()'i bitmiş olmalı)
+    public void beginTick(int tick) {
+        this.tick = tick;
+        for (int peer = 0; peer < count; peer++) {
+            if (peer != index) {
+                sendBuffers[peer].clear();
+                startFrame(peer);
+            }
+        }
+    }
+
+    // Kaydı peer'e giden çerçeveye ekler; çerçeve HUB_BATCH_SIZE'a ulaşınca yenisi açılır
+    public void send(int peer, Parcel parcel, int cityId, boolean returned) {
+        if (frameRecords[peer] == batchSize) {
+            finishFrame(peer, false);
+            startFrame(peer);
+        }
+        ByteBuffer out = ensureRoom(peer, RECORD_SIZE);
+        out.putLong(parcel.getNumericID());
+        out.putShort((short) cityId);
+        out.put((byte) parcel.getPriority());
+        out.put((byte) parcel.getSize().ordinal());
+        out.putShort((short) parcel.getReturnCount());
+        out.putInt(parcel.getArrivalTick());
+        out.put((byte) (returned ? 1 : 0));
+        frameRecords[peer]++;
+        recordsSent++;
+    }
+
+    private void startFrame(int peer) {
+        ByteBuffer out = ensureRoom(peer, HEADER_SIZE);
+        frameStart[peer] = out.position();
+        frameRecords[peer] = 0;
+        out.position(out.position() + HEADER_SIZE);
+    }
+
+    private void finishFrame(int peer, boolean last) {
+        ByteBuffer out = sendBuffers[peer];
+        int start = frameStart[peer];
+        out.putInt(start, out.position() - start - 4);
+        out.putInt(start + 4, tick);
+        out.put(start + 8, (byte) (last ? 1 : 0));
+        out.putInt(start + 9, frameRecords[peer]);
+        framesSent++;
+    }
+
+    private ByteBuffer ensureRoom(int peer, int bytes) {
+        ByteBuffer out = sendBuffers[peer];
+        if (out.remaining() < bytes) {
+            ByteBuffer grown = allocate(Math.max(out.capacity() * 2, out.position() + bytes));
+            out.flip();
+            grown.put(out);
+            sendBuffers[peer] = out = grown;
+        }
+        return out;
+    }
+
+    // Tick'in çerçevelerini gönderir ve tüm komşuların bu tick'teki son çerçevesini alana kadar
+    // bekler. Kayıtlar sink'e kaynak hub başına geliş sırasıyla verilir.
+    public void exchange(FrameSink sink) throws IOException {
+        long start = System.nanoTime();
+        for (int peer = 0; peer < count; peer++) {
+            if (peer == index) {
+                continue;
+            }
+            finishFrame(peer, true);
+            sendBuffers[peer].flip();
+            bytesSent += sendBuffers[peer].limit();
+            // Komşu bir sonraki tick'e geçmişse onun çerçeveleri önceki okumadan tamponda olabilir
+            received[peer] = drainFrames(peer, sink);
+        }
+
+        while (true) {
+            boolean pending = false;
+            for (int peer = 0; peer < count; peer++) {
+                if (peer == index) {
+                    continue;
+                }
+                int ops = (sendBuffers[peer].hasRemaining() ? SelectionKey.OP_WRITE : 0)
+                        | (received[peer] ? 0 : SelectionKey.OP_READ);
+                keys[peer].interestOps(ops);
+                pending |= ops != 0;
+            }
+            if (!pending) {
+                break;
+            }
+            selector.select();
+            for (SelectionKey key : selector.selectedKeys()) {
+                int peer = (Integer) key.attachment();
+                if (key.isWritable()) {
+                    peers[peer].write(sendBuffers[peer]);
+                }
+                if (key.isReadable()) {
+                    ByteBuffer in = receiveBuffers[peer];
+                    if (!in.hasRemaining()) {
+                        in = growReceiveBuffer(peer);
+                    }
+                    if (peers[peer].read(in) < 0) {
+                        throw new IOException("Hub " + peer + " disconnected during tick " + tick);
+                    }
+                    received[peer] = drainFrames(peer, sink);
+                }
+            }
+            selector.selectedKeys().clear();
+        }
+        exchangeNanos += System.nanoTime() - start;
+    }
+
+    // Tamponda tamamlanmış çerçeveleri çözer; bu tick'in son çerçevesi görülünce durur (sonrası bir
+    // sonraki tick'e aittir ve tamponda kalır). Son çerçeve geldiyse true döner.
+    private boolean drainFrames(int peer, FrameSink sink) throws IOException {
+        ByteBuffer in = receiveBuffers[peer];
+        in.flip();
+        boolean last = false;
+        try {
+            while (!last && in.remaining() >= 4) {
+                int position = in.position();
+                int length = in.getInt(position);
+                if (in.remaining() < 4 + length) {
+                    break;
+                }
+                int frameTick = in.getInt(position + 4);
+                int records = in.getInt(position + 9);
+                if (frameTick != tick) {
+                    throw new IOException("Hub " + peer + " is out of step: frame for tick " + frameTick
+                            + " during tick " + tick);
+                }
+                if (length != HEADER_SIZE - 4 + records * RECORD_SIZE) {
+                    throw new IOException("Corrupt frame from hub " + peer);
+                }
+                last = in.get(position + 8) != 0;
+                for (int r = 0, offset = position + HEADER_SIZE; r < records; r++, offset += RECORD_SIZE) {
+                    sink.accept(peer,
+                            in.getLong(offset),
+                            in.getShort(offset + 8),
+                            in.get(offset + 10),
+                            SIZES[in.get(offset + 11)],
+                            in.getShort(offset + 12),
+                            in.getInt(offset + 14),
+                            in.get(offset + 18) != 0);
+                }
+                recordsReceived += records;
+                in.position(position + 4 + length);
+            }
+        } finally {
+            in.compact();
+        }
+        return last;
+    }
+
+    // Tek bir çerçeve tampondan büyükse tampon büyütülür
+    private ByteBuffer growReceiveBuffer(int peer) {
+        ByteBuffer in = receiveBuffers[peer];
+        ByteBuffer grown = allocate(in.capacity() * 2);
+        in.flip();
+        grown.put(in);
+        receiveBuffers[peer] = grown;
+        return grown;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getFramesSent() {
+        return framesSent;
+    }
+
+    public long getRecordsSent() {
+        return recordsSent;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public long getRecordsReceived() {
+        return recordsReceived;
+    }
+
+    // exchange() içinde geçen toplam süre (gönderme, alma ve bariyer beklemesi)
+    public long getExchangeNanos() {
+        return exchangeNanos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closePeers();
+        selector.close();
+    }
+
+    private void closePeers() throws IOException {
+        for (SocketChannel peer : peers) {
+            if (peer != null) {
+                peer.close();
+            }
+        }
+    }
+}
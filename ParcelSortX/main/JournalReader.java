@@ -0,0 +1,79 @@
+package main;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// EventJournal segmentlerini sırayla, nesne oluşturmadan okur
+public class JournalReader {
+
+    // Her kayıt için çağrılır; alanlar ilkel tiplerdir
+    public interface RecordVisitor {
+        void visit(long sequence, int tick, long parcelID, EventJournal.EventType type, int cityId, int terminal);
+    }
+
+    private static final EventJournal.EventType[] TYPES = EventJournal.EventType.values();
+
+    private final Path directory;
+
+    public JournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    // Tüm commit edilmiş kayıtları okur, okunan kayıt sayısını döner
+    public long readAll(RecordVisitor visitor) throws IOException {
+        return readFrom(0, visitor);
+    }
+
+    // fromSequence'ten (0 tabanlı, tüm segmentler boyunca) itibaren okur
+    public long readFrom(long fromSequence, RecordVisitor visitor) throws IOException {
+        long sequence = 0;
+        long visited = 0;
+        for (int index = 0; Files.exists(EventJournal.segmentPath(directory, index)); index++) {
+            try (FileChannel channel = FileChannel.open(EventJournal.segmentPath(directory, index),
+                    StandardOpenOption.READ)) {
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                segment.order(ByteOrder.LITTLE_ENDIAN);
+                long count = checkedCount(segment, channel.size());
+                if (sequence + count <= fromSequence) {
+                    sequence += count;
+                    continue;
+                }
+                int first = (int) Math.max(0, fromSequence - sequence);
+                for (int r = first; r < count; r++) {
+                    int position = EventJournal.HEADER_SIZE + r * EventJournal.RECORD_SIZE;
+                    visitor.visit(sequence + r,
+                            segment.getInt(position + 8),
+                            segment.getLong(position),
+                            TYPES[segment.get(position + 12)],
+                            segment.getShort(position + 14),
+                            segment.get(position + 13) & 0xFF);
+                    visited++;
+                }
+                sequence += count;
+            }
+        }
+        return visited;
+    }
+
+    static long committedCount(Path segmentFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, EventJournal.HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            return checkedCount(header, channel.size());
+        }
+    }
+
+    // Başlıktaki sayı dosya boyutuyla sınırlandırılır (bozuk başlık taşma yapmasın)
+    private static long checkedCount(MappedByteBuffer header, long fileSize) throws IOException {
+        if (header.getInt(0) != EventJournal.MAGIC || header.getInt(4) != EventJournal.RECORD_SIZE) {
+            throw new IOException("Corrupt journal segment header");
+        }
+        long capacity = (fileSize - EventJournal.HEADER_SIZE) / EventJournal.RECORD_SIZE;
+        return Math.max(0, Math.min(header.getLong(EventJournal.COUNT_OFFSET), capacity));
+    }
+}
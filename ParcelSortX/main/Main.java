@@ -1,32 +1,169 @@
-package main;
-
-import java.io.IOException;
-import java.util.Arrays;
-
-public class Main {
-    public static void main(String[] args) {
-        try {
-            ConfigManager config = new ConfigManager("config.txt");
-
-            System.out.println("Loaded Config:");
-            System.out.println("Max Ticks: " + config.getMaxTicks());
-            System.out.println("City List: " + Arrays.toString(config.getCityList()));
-            System.out.println("Queue Capacity: " + config.getQueueCapacity());
-
-            // Örnek: ParcelGenerator oluşturma
-            ParcelGenerator generator = new ParcelGenerator(
-                    config.getCityList(),
-                    config.getParcelPerTickMin(),
-                    config.getParcelPerTickMax());
-
-            // Tick 0 için örnek üretim:
-            Parcel[] parcels = generator.generateParcelsForTick(0);
-            for (Parcel p : parcels) {
-                System.out.println(p);
-            }
-
-        } catch (IOException e) {
-            System.err.println("Failed to load config: " + e.getMessage());
-        }
-    }
-}
+package main;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+public class Main {
+    public static void main(String[] args) {
+        try {
+            ConfigManager config = new ConfigManager("config.txt");
+
+            System.out.println("Loaded Config:");
+            System.out.println("Max Ticks: " + config.getMaxTicks());
+            System.out.println("City List: " + Arrays.toString(config.getCityList()));
+            System.out.println("Queue Capacity: " + config.getQueueCapacity());
+
+            // --sweep <tanım dosyası> [--sweep-out <csv>]: her kombinasyon ayrı simülasyon
+            List<String> options = Arrays.asList(args);
+            int sweepIndex = options.indexOf("--sweep");
+            if (sweepIndex >= 0 && sweepIndex + 1 < args.length) {
+                SweepRunner sweep = SweepRunner.fromFile(config, args[sweepIndex + 1]);
+                List<SweepRunner.Result> results = sweep.run();
+                System.out.print(sweep.toTable(results));
+                int outIndex = options.indexOf("--sweep-out");
+                if (outIndex >= 0 && outIndex + 1 < args.length) {
+                    sweep.writeCsv(results, Paths.get(args[outIndex + 1]));
+                }
+                return;
+            }
+
+            // --hubs N: şehirler N hub sürecine bölünür; --hub i verilmezse N süreç burada başlatılır
+            int hubCount = intOption(args, "--hubs", 1);
+            int hubIndex = intOption(args, "--hub", -1);
+            if (hubCount > 1 && hubIndex < 0) {
+                if (!HubLauncher.run(hubCount, args)) {
+                    System.exit(1);
+                }
+                return;
+            }
+            ConfigManager networkConfig = config;
+            if (hubCount > 1) {
+                if (!config.isSeedSet()) {
+                    throw new IllegalArgumentException("Hub mode needs a fixed SEED so all hubs share one parcel stream");
+                }
+                config = HubNode.hubConfig(config, hubIndex, hubCount);
+            }
+
+            // Simülasyonu MAX_TICKS boyunca çalıştır (--pipeline: aşamalar ayrı thread'lerde)
+            SimulationEngine engine = new SimulationEngine(config);
+            HubTransport transport = null;
+            HubNode hub = null;
+            if (hubCount > 1) {
+                transport = new HubTransport(config.getHubTransport(), config.getHubPort(),
+                        Paths.get(config.getHubSocketDir()), hubIndex, hubCount, config.getHubBatchSize());
+                hub = new HubNode(networkConfig, engine, transport);
+                engine.setHub(hub);
+            }
+            MetricsReporter metricsReporter = null;
+            if (config.getMetricsFile() != null) {
+                metricsReporter = new MetricsReporter(engine.getMetrics(), Paths.get(config.getMetricsFile()));
+                engine.setMetricsReporter(metricsReporter);
+            }
+            // --resume: checkpoint dosyası varsa kaldığı tick'ten devam et
+            Path checkpointFile = (config.getCheckpointFile() != null) ? Paths.get(config.getCheckpointFile()) : null;
+            boolean resume = checkpointFile != null && Arrays.asList(args).contains("--resume")
+                    && Files.exists(checkpointFile);
+            EventJournal journal = null;
+            if (config.getJournalDir() != null) {
+                // Günlüğe yalnızca devam ederken eklenir; yeni çalıştırma eski segmentleri siler
+                journal = new EventJournal(Paths.get(config.getJournalDir()), config.getJournalSegmentMb() << 20,
+                        resume);
+                engine.setJournal(journal);
+            }
+            ManifestReader manifest = null;
+            if (config.getManifestFile() != null) {
+                if (hub != null) {
+                    manifest = new ManifestReader(Paths.get(config.getManifestFile()), hub.getGlobalCities());
+                    hub.setParcelSource(manifest);
+                } else {
+                    manifest = new ManifestReader(Paths.get(config.getManifestFile()), engine.getCities());
+                    engine.setParcelSource(manifest);
+                }
+            }
+            // Tick raporu da restore'dan önce açılır: devam ederken checkpoint tick'ine kırpılır
+            TickReportWriter tickReport = null;
+            if (config.getTickReportFile() != null) {
+                tickReport = new TickReportWriter(Paths.get(config.getTickReportFile()), engine.getCities(), resume);
+                engine.setTickReport(tickReport);
+            }
+            if (resume) {
+                int tick = SimulationCheckpoint.restore(engine, checkpointFile);
+                System.out.println("Resumed from tick " + tick);
+            }
+            // Checkpoint'ler tick sınırında alınır; yalnızca tek thread'li çalıştırmada
+            CheckpointWriter checkpointWriter = null;
+            boolean pipeline = Arrays.asList(args).contains("--pipeline");
+            if (pipeline && hub != null) {
+                System.err.println("--pipeline is ignored in hub mode; running tick by tick");
+                pipeline = false;
+            }
+            if (pipeline && config.getTimeAdvance() == SimulationEngine.TimeAdvance.EVENT) {
+                System.err.println("TIME_ADVANCE=EVENT is ignored with --pipeline; running tick by tick");
+            }
+            if (checkpointFile != null && !pipeline) {
+                checkpointWriter = new CheckpointWriter(checkpointFile, config.getCheckpointInterval());
+                engine.setCheckpointWriter(checkpointWriter);
+            }
+            try {
+                if (pipeline) {
+                    new PipelinedSimulation(engine).run();
+                } else {
+                    engine.run();
+                }
+            } finally {
+                if (checkpointWriter != null) {
+                    checkpointWriter.close();
+                }
+                if (tickReport != null) {
+                    tickReport.close();
+                }
+                if (metricsReporter != null) {
+                    metricsReporter.close();
+                }
+                if (journal != null) {
+                    journal.close();
+                }
+                if (manifest != null) {
+                    manifest.close();
+                }
+                if (transport != null) {
+                    transport.close();
+                }
+            }
+
+            System.out.println(engine.getSummary());
+            if (hub != null) {
+                System.out.println(hub.getSummary(engine));
+            }
+            if (manifest != null && manifest.getSkippedRowCount() > 0) {
+                System.out.println("Manifest rows skipped (unknown city): " + manifest.getSkippedRowCount());
+            }
+            System.out.println("Remaining Backlog:");
+            engine.getSorter().inOrderTraversal();
+            System.out.println(engine.getTracker().getStatistics());
+
+            // Tick raporu çalışma sonunda report.txt'ye özetlenir
+            if (tickReport != null) {
+                TickReportReader.summarize(Paths.get(config.getTickReportFile()), Paths.get(config.getReportFile()),
+                        engine.getTracker().getStatistics());
+                System.out.println("Tick report summarized to " + config.getReportFile());
+            }
+
+        } catch (IOException e) {
+            System.err.println("Failed to load config: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Simulation interrupted");
+        }
+    }
+
+    // "--name değer" biçimindeki tamsayı seçeneği; yoksa varsayılan
+    private static int intOption(String[] args, String name, int defaultValue) {
+        int at = Arrays.asList(args).indexOf(name);
+        return (at >= 0 && at + 1 < args.length) ? Integer.parseInt(args[at + 1]) : defaultValue;
+    }
+}
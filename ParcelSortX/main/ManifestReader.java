@@ -0,0 +1,400 @@
+package main;
+
+import data_sturcts.CityIndex;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Gerçek parcel manifestlerini (CSV) generator yerine tick tick oynatır.
+//
+// Satır: parcelID,city,priority,size,arrivalTick   (ör. P1042,Ankara,3,Large,17)
+//   - parcelID "P" önekli ya da düz sayı olabilir; ilk satır başlık olabilir, '#' satırları yorumdur
+//   - satırlar arrivalTick'e göre sıralı olmalı (azalmayan)
+//   - CITY_LIST'te olmayan şehirlere giden satırlar atlanır ve sayılır
+//
+// Dosya ayrı bir thread'de, direct ByteBuffer üzerinden bayt bayt ayrıştırılır; alan başına String
+// oluşturulmaz, şehir ve boyut baytları doğrudan ordinal'e çevrilir (Parcel'lar CityIndex'teki
+// aynı String'leri paylaşır). Ayrıştırılan parcel'lar CHUNK_SIZE'lık parçalar hâlinde sınırlı bir
+// kuyruğa konur (okuyucu en fazla READ_AHEAD_CHUNKS parça önde gider); bir parça birden çok
+// tick'i kapsayabilir, tüketici her tick'in aralığını parçadan keser. Böylece tick başına az
+// parcel olsa bile thread'ler arası el değiştirme parça başına bir kez olur.
+public class ManifestReader implements ParcelSource, AutoCloseable {
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+    private static final int CHUNK_SIZE = 4096;
+    private static final int READ_AHEAD_CHUNKS = 64;
+    private static final Parcel.Size[] SIZES = Parcel.Size.values();
+    private static final Parcel[] EMPTY = new Parcel[0];
+
+    // arrivalTick'e göre sıralı parcel'lar; dosya sonu (end) ve hata da birer parça olarak iletilir
+    private static final class Chunk {
+        final Parcel[] parcels;
+        final boolean end;
+        final Throwable error;
+
+        Chunk(Parcel[] parcels, boolean end, Throwable error) {
+            this.parcels = parcels;
+            this.end = end;
+            this.error = error;
+        }
+    }
+
+    private final Path file;
+    private final FileChannel channel;
+    private final CityIndex cities;
+    private final ByteInterner cityNames;
+    private final ByteInterner sizeNames;
+    private final BlockingQueue<Chunk> chunks = new ArrayBlockingQueue<>(READ_AHEAD_CHUNKS);
+    private final Thread readerThread;
+    private final AtomicLong parsedRows = new AtomicLong();
+    private final AtomicLong skippedRows = new AtomicLong();
+
+    // Ayrıştırıcı thread'in durumu
+    private final Parcel[] staging = new Parcel[CHUNK_SIZE];
+    private int stagingCount;
+    private int lastTick;
+    private long lineNumber;
+
+    // Tüketici (generate aşaması) durumu
+    private Chunk current;
+    private int position;
+    private long skippedParcels;
+
+    public ManifestReader(Path file, CityIndex cities) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.cities = cities;
+        String[] names = new String[cities.size()];
+        for (int id = 0; id < names.length; id++) {
+            names[id] = cities.nameOf(id);
+        }
+        this.cityNames = new ByteInterner(names);
+        String[] sizes = new String[SIZES.length];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = SIZES[i].name();
+        }
+        this.sizeNames = new ByteInterner(sizes);
+        this.readerThread = new Thread(this::readLoop, "manifest-reader");
+        this.readerThread.setDaemon(true);
+    }
+
+    // Bir tick'in tüm parcel'larını döner. İstenen tick'ten önceki parcel'lar atlanır
+    // (checkpoint'ten devam ederken manifest kaldığı tick'e kadar ilerletilir).
+    @Override
+    public Parcel[] parcelsForTick(int tick) {
+        startReader();
+        Parcel[] result = EMPTY;
+        while (true) {
+            if (current == null || (position == current.parcels.length && !current.end)) {
+                current = takeChunk();
+                position = 0;
+            }
+            if (current.error != null) {
+                throw new IllegalStateException("Failed to read manifest " + file, current.error);
+            }
+            Parcel[] parcels = current.parcels;
+            while (position < parcels.length && parcels[position].getArrivalTick() < tick) {
+                position++;
+                skippedParcels++;
+            }
+            int from = position;
+            while (position < parcels.length && parcels[position].getArrivalTick() == tick) {
+                position++;
+            }
+            if (position > from) {
+                int length = result.length;
+                result = Arrays.copyOf(result, length + position - from);
+                System.arraycopy(parcels, from, result, length, position - from);
+            }
+            if (position < parcels.length || current.end) {
+                return result;
+            }
+        }
+    }
+
+    // Sıradaki parcel'ın tick'ine bakar, tüketmez (olay tabanlı mod boş aralıkları atlar)
+    @Override
+    public int nextArrivalTick(int fromTick, int limit) {
+        startReader();
+        while (current == null || (position == current.parcels.length && !current.end)) {
+            current = takeChunk();
+            position = 0;
+        }
+        if (current.error != null) {
+            throw new IllegalStateException("Failed to read manifest " + file, current.error);
+        }
+        if (position == current.parcels.length) {
+            return limit;
+        }
+        return Math.max(fromTick, Math.min(limit, current.parcels[position].getArrivalTick()));
+    }
+
+    private void startReader() {
+        if (readerThread.getState() == Thread.State.NEW) {
+            readerThread.start();
+        }
+    }
+
+    private Chunk takeChunk() {
+        try {
+            return chunks.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for manifest " + file, e);
+        }
+    }
+
+    private void readLoop() {
+        try {
+            parseAll();
+            flushChunk();
+            chunks.put(new Chunk(EMPTY, true, null));
+        } catch (InterruptedException e) {
+            // close() çağrıldı
+        } catch (Throwable e) {
+            chunks.clear(); // tüketici hatayı hemen görsün
+            chunks.offer(new Chunk(EMPTY, true, e));
+        }
+    }
+
+    // Tampon satır satır taranır; yarım kalan son satır compact() ile bir sonraki okumaya taşınır
+    private void parseAll() throws IOException, InterruptedException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        boolean eof = false;
+        while (!eof) {
+            eof = channel.read(buffer) < 0;
+            buffer.flip();
+            int limit = buffer.limit();
+            int start = 0;
+            for (int i = 0; i < limit; i++) {
+                if (buffer.get(i) == '\n') {
+                    parseLine(buffer, start, i);
+                    start = i + 1;
+                }
+            }
+            if (eof && start < limit) {
+                parseLine(buffer, start, limit);
+                start = limit;
+            }
+            buffer.position(start);
+            buffer.compact();
+            if (!eof && !buffer.hasRemaining()) {
+                throw new IOException("Manifest line " + (lineNumber + 1) + " is longer than "
+                        + READ_BUFFER_SIZE + " bytes");
+            }
+        }
+    }
+
+    private void parseLine(ByteBuffer buffer, int from, int to) throws InterruptedException {
+        lineNumber++;
+        if (to > from && buffer.get(to - 1) == '\r') {
+            to--;
+        }
+        from = skipSpaces(buffer, from, to);
+        if (from == to || buffer.get(from) == '#') {
+            return;
+        }
+
+        int idEnd = fieldEnd(buffer, from, to);
+        int cityEnd = fieldEnd(buffer, idEnd + 1, to);
+        int priorityEnd = fieldEnd(buffer, cityEnd + 1, to);
+        int sizeEnd = fieldEnd(buffer, priorityEnd + 1, to);
+        if (sizeEnd >= to) {
+            if (lineNumber == 1 && !isParcelID(buffer, from, idEnd)) {
+                return; // kısa başlık satırı
+            }
+            throw invalid("expected parcelID,city,priority,size,arrivalTick");
+        }
+        if (!isParcelID(buffer, from, idEnd)) {
+            if (lineNumber == 1) {
+                return; // başlık
+            }
+            throw invalid("invalid parcel ID");
+        }
+
+        int start = (buffer.get(from) == 'P') ? from + 1 : from;
+        long id = parseNumber(buffer, start, idEnd, Long.MAX_VALUE, "parcel ID");
+        int priority = (int) parseNumber(buffer, cityEnd + 1, priorityEnd, 3, "priority");
+        int arrivalTick = (int) parseNumber(buffer, sizeEnd + 1, to, Integer.MAX_VALUE - 1, "arrival tick");
+        if (priority < 1) {
+            throw invalid("invalid priority");
+        }
+        int size = sizeNames.find(buffer, priorityEnd + 1, sizeEnd);
+        if (size < 0) {
+            throw invalid("invalid size");
+        }
+        int cityId = cityNames.find(buffer, idEnd + 1, cityEnd);
+        if (cityId < 0) {
+            skippedRows.incrementAndGet();
+            return;
+        }
+        if (arrivalTick < lastTick) {
+            throw invalid("arrival tick " + arrivalTick + " is before " + lastTick
+                    + " (manifest must be sorted by arrival tick)");
+        }
+
+        lastTick = arrivalTick;
+        staging[stagingCount++] = new Parcel(id, cityId, cities.nameOf(cityId), priority, SIZES[size], arrivalTick);
+        parsedRows.incrementAndGet();
+        if (stagingCount == CHUNK_SIZE) {
+            flushChunk();
+        }
+    }
+
+    private void flushChunk() throws InterruptedException {
+        if (stagingCount == 0) {
+            return;
+        }
+        chunks.put(new Chunk(Arrays.copyOf(staging, stagingCount), false, null));
+        Arrays.fill(staging, 0, stagingCount, null);
+        stagingCount = 0;
+    }
+
+    private IllegalArgumentException invalid(String message) {
+        return new IllegalArgumentException("Manifest line " + lineNumber + ": " + message);
+    }
+
+    private static int fieldEnd(ByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == ',') {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private static int skipSpaces(ByteBuffer buffer, int from, int to) {
+        while (from < to && buffer.get(from) == ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    private static boolean isParcelID(ByteBuffer buffer, int from, int to) {
+        int start = (from < to && buffer.get(from) == 'P') ? from + 1 : from;
+        return start < to && buffer.get(start) >= '0' && buffer.get(start) <= '9';
+    }
+
+    // Baştaki/sondaki boşluklar atlanır; yalnızca rakam kabul edilir
+    private long parseNumber(ByteBuffer buffer, int from, int to, long max, String field) {
+        from = skipSpaces(buffer, from, to);
+        while (to > from && buffer.get(to - 1) == ' ') {
+            to--;
+        }
+        if (from == to) {
+            throw invalid("missing " + field);
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9 || digit > max || value > (max - digit) / 10) {
+                throw invalid("invalid " + field);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    // Manifestte kabul edilip motora verilen satırlar
+    public long getParsedRowCount() {
+        return parsedRows.get();
+    }
+
+    // CITY_LIST'te olmayan şehir yüzünden atlanan satırlar
+    public long getSkippedRowCount() {
+        return skippedRows.get();
+    }
+
+    // Checkpoint'ten devam ederken atlanan (önceki tick'lere ait) parcel'lar
+    public long getSkippedParcelCount() {
+        return skippedParcels;
+    }
+
+    @Override
+    public void close() throws IOException {
+        readerThread.interrupt();
+        try {
+            readerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    // Sabit bir isim kümesini UTF-8 baytlarından ordinal'e eşler (açık adresleme, FNV-1a).
+    // ASCII harfler büyük/küçük harf duyarsız karşılaştırılır; baştaki/sondaki boşluklar yok sayılır.
+    private static final class ByteInterner {
+        private final byte[][] keys;
+        private final int[] slots; // ordinal + 1, 0 boş
+        private final int mask;
+
+        ByteInterner(String[] names) {
+            keys = new byte[names.length][];
+            int size = Integer.highestOneBit(Math.max(1, names.length) * 4);
+            slots = new int[size];
+            mask = size - 1;
+            for (int ordinal = 0; ordinal < names.length; ordinal++) {
+                byte[] key = names[ordinal].trim().getBytes(StandardCharsets.UTF_8);
+                for (int i = 0; i < key.length; i++) {
+                    key[i] = fold(key[i]);
+                }
+                keys[ordinal] = key;
+                int slot = hash(key) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = ordinal + 1;
+            }
+        }
+
+        // Bulunamazsa -1
+        int find(ByteBuffer buffer, int from, int to) {
+            from = skipSpaces(buffer, from, to);
+            while (to > from && buffer.get(to - 1) == ' ') {
+                to--;
+            }
+            int h = 0x811C9DC5;
+            for (int i = from; i < to; i++) {
+                h = (h ^ (fold(buffer.get(i)) & 0xFF)) * 0x01000193;
+            }
+            for (int slot = h & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+                int ordinal = slots[slot] - 1;
+                if (matches(keys[ordinal], buffer, from, to)) {
+                    return ordinal;
+                }
+            }
+            return -1;
+        }
+
+        private static boolean matches(byte[] key, ByteBuffer buffer, int from, int to) {
+            if (key.length != to - from) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (key[i] != fold(buffer.get(from + i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int hash(byte[] key) {
+            int h = 0x811C9DC5;
+            for (byte b : key) {
+                h = (h ^ (b & 0xFF)) * 0x01000193;
+            }
+            return h;
+        }
+
+        private static byte fold(byte b) {
+            return (b >= 'A' && b <= 'Z') ? (byte) (b + ('a' - 'A')) : b;
+        }
+    }
+}
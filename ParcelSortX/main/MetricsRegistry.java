@@ -0,0 +1,78 @@
+package main;
+
+import data_sturcts.LatencyHistogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+// Simülasyon metrikleri: sayaçlar, göstergeler (gauge) ve gecikme histogramları.
+// Sayaçlar LongAdder ile şeritlidir; pipeline aşamaları aynı sayaca kilitsiz yazabilir.
+// Göstergeler yalnızca snapshot alınırken okunur, sıcak yolda maliyetleri yoktur.
+public class MetricsRegistry {
+
+    public static final class Counter {
+        private final LongAdder adder = new LongAdder();
+
+        public void increment() {
+            adder.increment();
+        }
+
+        public void add(long delta) {
+            adder.add(delta);
+        }
+
+        public long get() {
+            return adder.sum();
+        }
+    }
+
+    // Histogram tek bir LatencyHistogram'ı kilitle korur (tick başına bir kayıt, çekişme yok)
+    public static final class Histogram {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        public synchronized void record(int value) {
+            histogram.record(value);
+        }
+
+        synchronized void snapshotInto(String name, Map<String, Double> values) {
+            values.put(name + ".count", (double) histogram.getTotalCount());
+            values.put(name + ".p50", (double) histogram.getValueAtPercentile(50));
+            values.put(name + ".p99", (double) histogram.getValueAtPercentile(99));
+            values.put(name + ".max", (double) histogram.getMaxValue());
+        }
+    }
+
+    private final Map<String, Counter> counters = new TreeMap<>();
+    private final Map<String, DoubleSupplier> gauges = new TreeMap<>();
+    private final Map<String, Histogram> histograms = new TreeMap<>();
+
+    public synchronized Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    public synchronized void gauge(String name, DoubleSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    public synchronized Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new Histogram());
+    }
+
+    // Ad -> değer; sıra her snapshot'ta aynıdır (sayaçlar, göstergeler, histogramlar, ada göre)
+    public synchronized Map<String, Double> snapshot() {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            values.put(entry.getKey(), (double) entry.getValue().get());
+        }
+        for (Map.Entry<String, DoubleSupplier> entry : gauges.entrySet()) {
+            values.put(entry.getKey(), entry.getValue().getAsDouble());
+        }
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            entry.getValue().snapshotInto(entry.getKey(), values);
+        }
+        return values;
+    }
+}
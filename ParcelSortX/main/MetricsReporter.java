@@ -0,0 +1,73 @@
+package main;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+// MetricsRegistry snapshot'larını dosyaya yazar: ".json" uzantısında satır başına bir JSON
+// nesnesi, aksi halde başlık satırlı CSV. Her satır "tick" sütunuyla başlar.
+public class MetricsReporter implements AutoCloseable {
+    private final MetricsRegistry registry;
+    private final BufferedWriter writer;
+    private final boolean json;
+    private boolean headerWritten;
+
+    public MetricsReporter(MetricsRegistry registry, Path file) throws IOException {
+        this.registry = registry;
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        this.json = file.getFileName().toString().toLowerCase().endsWith(".json");
+    }
+
+    public synchronized void report(int tick) {
+        Map<String, Double> values = registry.snapshot();
+        StringBuilder line = new StringBuilder();
+        try {
+            if (json) {
+                line.append("{\"tick\":").append(tick);
+                for (Map.Entry<String, Double> entry : values.entrySet()) {
+                    line.append(",\"").append(entry.getKey()).append("\":");
+                    appendNumber(line, entry.getValue());
+                }
+                line.append('}');
+            } else {
+                if (!headerWritten) {
+                    writer.write("tick," + String.join(",", values.keySet()));
+                    writer.newLine();
+                    headerWritten = true;
+                }
+                line.append(tick);
+                for (double value : values.values()) {
+                    line.append(',');
+                    appendNumber(line, value);
+                }
+            }
+            writer.write(line.toString());
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write metrics", e);
+        }
+    }
+
+    private static void appendNumber(StringBuilder line, double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            line.append((long) value);
+        } else {
+            line.append(String.format(Locale.ROOT, "%.4f", value));
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close metrics file", e);
+        }
+    }
+}
@@ -1,80 +1,171 @@
-package main;
-
-public class Parcel {
-    public enum Status {
-        InQueue,
-        Sorted,
-        Dispatched,
-        Returned
-    }
-
-    private String parcelID;
-    private String destinationCity;
-    private int priority;
-    private String size;
-    private int arrivalTick;
-    private Status status;
-
-    private int dispatchTick = -1;
-    private int returnCount = 0;
-
-    public Parcel(String parcelID, String destinationCity, int priority,
-            String size, int arrivalTick) {
-        this.parcelID = parcelID;
-        this.destinationCity = destinationCity;
-        this.priority = priority;
-        this.size = size;
-        this.arrivalTick = arrivalTick;
-        this.status = Status.InQueue;
-    }
-
-    public String getParcelID() {
-        return parcelID;
-    }
-
-    public String getDestinationCity() {
-        return destinationCity;
-    }
-
-    public int getPriority() {
-        return priority;
-    }
-
-    public String getSize() {
-        return size;
-    }
-
-    public int getArrivalTick() {
-        return arrivalTick;
-    }
-
-    public Status getStatus() {
-        return status;
-    }
-
-    public void setStatus(Status status) {
-        this.status = status;
-    }
-
-    public int getDispatchTick() {
-        return dispatchTick;
-    }
-
-    public void setDispatchTick(int dispatchTick) {
-        this.dispatchTick = dispatchTick;
-    }
-
-    public int getReturnCount() {
-        return returnCount;
-    }
-
-    public void incrementReturnCount() {
-        this.returnCount++;
-    }
-
-    @Override
-    public String toString() {
-        return String.format("Parcel[%s → %s, Prio: %d, Size: %s, ArrivalTick: %d, Status: %s]",
-                parcelID, destinationCity, priority, size, arrivalTick, status);
-    }
-}
+package main;
+
+// Nesne başına ~40 bayt (sıkıştırılmış referanslarla): ID long, şehir CityIndex'teki ortak
+// String + ordinal, boyut/durum/öncelik bayt olarak tutulur. ID metni istendiğinde üretilir.
+public class Parcel {
+    public enum Status {
+        InQueue,
+        Sorted,
+        Dispatched,
+        Returned
+    }
+
+    // Kamyonda kapladığı birim: Small = 1, Medium = 2, Large = 3
+    public enum Size {
+        Small(1),
+        Medium(2),
+        Large(3);
+
+        private final int volume;
+
+        Size(int volume) {
+            this.volume = volume;
+        }
+
+        public int getVolume() {
+            return volume;
+        }
+
+        public static Size parse(String size) {
+            if (size != null) {
+                for (Size value : SIZES) {
+                    if (value.name().equals(size)) {
+                        return value;
+                    }
+                }
+            }
+            throw new IllegalArgumentException("Invalid size value: " + size);
+        }
+    }
+
+    private static final Status[] STATUSES = Status.values();
+    private static final Size[] SIZES = Size.values();
+
+    private long numericID;       // "P<n>" içindeki n
+    private String destinationCity;
+    private short cityId;         // CityIndex ordinal'i; bilinmiyorsa -1
+    private byte priority;
+    private byte size;            // Size ordinal'i
+    private byte status;          // Status ordinal'i
+    private short returnCount;
+    private int arrivalTick;
+    private int dispatchTick = -1;
+
+    public Parcel(String parcelID, String destinationCity, int priority,
+            String size, int arrivalTick) {
+        this(parseNumericID(parcelID), destinationCity, priority, Size.parse(size), arrivalTick);
+    }
+
+    public Parcel(long numericID, String destinationCity, int priority,
+            String size, int arrivalTick) {
+        this(numericID, destinationCity, priority, Size.parse(size), arrivalTick);
+    }
+
+    public Parcel(long numericID, String destinationCity, int priority,
+            Size size, int arrivalTick) {
+        reset(numericID, -1, destinationCity, priority, size, arrivalTick);
+    }
+
+    // Şehir ordinal'i bilinen üreticiler için (generator, manifest, checkpoint): sorter ve tracker
+    // şehri hash'lemeden doğrudan kullanır. destinationCity, CityIndex'teki aynı String olmalı.
+    public Parcel(long numericID, int cityId, String destinationCity, int priority,
+            Size size, int arrivalTick) {
+        reset(numericID, cityId, destinationCity, priority, size, arrivalTick);
+    }
+
+    // ParcelPool'dan geri alınan nesneyi yeni bir parcel olarak yeniden kurar
+    void reset(long numericID, int cityId, String destinationCity, int priority,
+            Size size, int arrivalTick) {
+        this.numericID = numericID;
+        this.cityId = (short) cityId;
+        this.destinationCity = destinationCity;
+        this.priority = (byte) priority;
+        this.size = (byte) size.ordinal();
+        this.arrivalTick = arrivalTick;
+        this.status = (byte) Status.InQueue.ordinal();
+        this.dispatchTick = -1;
+        this.returnCount = 0;
+    }
+
+    // Nesnede saklanmaz: her çağrıda numericID'den üretilir (log ve hata mesajları için)
+    public String getParcelID() {
+        return "P" + numericID;
+    }
+
+    public long getNumericID() {
+        return numericID;
+    }
+
+    // "P123" -> 123 (regex veya substring kullanmadan)
+    public static long parseNumericID(String parcelID) {
+        if (parcelID == null || parcelID.length() < 2 || parcelID.charAt(0) != 'P') {
+            throw new IllegalArgumentException("Invalid parcel ID: " + parcelID);
+        }
+        long value = 0;
+        for (int i = 1; i < parcelID.length(); i++) {
+            char c = parcelID.charAt(i);
+            if (c < '0' || c > '9' || value > (Long.MAX_VALUE - 9) / 10) {
+                throw new IllegalArgumentException("Invalid parcel ID: " + parcelID);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    public String getDestinationCity() {
+        return destinationCity;
+    }
+
+    public int getCityId() {
+        return cityId;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public Size getSize() {
+        return SIZES[size];
+    }
+
+    public int getArrivalTick() {
+        return arrivalTick;
+    }
+
+    public Status getStatus() {
+        return STATUSES[status];
+    }
+
+    public void setStatus(Status status) {
+        this.status = (byte) status.ordinal();
+    }
+
+    public int getDispatchTick() {
+        return dispatchTick;
+    }
+
+    public void setDispatchTick(int dispatchTick) {
+        this.dispatchTick = dispatchTick;
+    }
+
+    public int getReturnCount() {
+        return returnCount;
+    }
+
+    public void incrementReturnCount() {
+        this.returnCount++;
+    }
+
+    // Checkpoint'ten geri yüklenen parcel'ın yaşam döngüsü alanları
+    void restoreState(Status status, int dispatchTick, int returnCount) {
+        this.status = (byte) status.ordinal();
+        this.dispatchTick = dispatchTick;
+        this.returnCount = (short) returnCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Parcel[%s → %s, Prio: %d, Size: %s, ArrivalTick: %d, Status: %s]",
+                getParcelID(), destinationCity, priority, getSize(), arrivalTick, getStatus());
+    }
+}
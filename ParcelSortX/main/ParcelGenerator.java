@@ -1,45 +1,146 @@
-package main;
-
-import java.util.Random;
-
-public class ParcelGenerator {
-
-    private static int parcelCounter = 0; // Benzersiz ID üretimi
-    private static final Random random = new Random();
-
-    private final String[] cityList;
-    private final String[] sizeList = { "Small", "Medium", "Large" };
-    private final int minParcelsPerTick;
-    private final int maxParcelsPerTick;
-
-    public ParcelGenerator(String[] cityList, int minParcelsPerTick, int maxParcelsPerTick) {
-        this.cityList = cityList;
-        this.minParcelsPerTick = minParcelsPerTick;
-        this.maxParcelsPerTick = maxParcelsPerTick;
-    }
-
-    // Rastgele bir Parcel oluşturur
-    public Parcel generateSingleParcel(int currentTick) {
-        String id = "P" + (parcelCounter++);
-        String destination = cityList[random.nextInt(cityList.length)];
-        String size = sizeList[random.nextInt(sizeList.length)];
-        int priority = 1 + random.nextInt(3); // 1, 2 veya 3
-
-        return new Parcel(id, destination, priority, size, currentTick);
-    }
-
-    // Bir tick için 1..N arası parcel üretir
-    public Parcel[] generateParcelsForTick(int currentTick) {
-        int count = minParcelsPerTick + random.nextInt(maxParcelsPerTick - minParcelsPerTick + 1);
-        Parcel[] parcels = new Parcel[count];
-        for (int i = 0; i < count; i++) {
-            parcels[i] = generateSingleParcel(currentTick);
-        }
-        return parcels;
-    }
-
-    // Toplam oluşturulan parcel sayısını verir (test amaçlı)
-    public static int getTotalGeneratedCount() {
-        return parcelCounter;
-    }
-}
+package main;
+
+import data_sturcts.CityIndex;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+public class ParcelGenerator implements ParcelSource {
+
+    // Bu boyutun altındaki tick'ler tek thread'de üretilir
+    private static final int MIN_PARTITION_SIZE = 4096;
+
+    private final AtomicLong parcelCounter = new AtomicLong(); // Benzersiz ID üretimi (kilitsiz)
+    private final long seed;
+
+    private final CityIndex cities;
+    private final Parcel.Size[] sizeList = Parcel.Size.values();
+    private final int minParcelsPerTick;
+    private final int maxParcelsPerTick;
+    private final int parallelism;
+    private ParcelPool pool;
+    private int partitionIndex;
+    private int partitionCount = 1;
+
+    public ParcelGenerator(String[] cityList, int minParcelsPerTick, int maxParcelsPerTick) {
+        this(cityList, minParcelsPerTick, maxParcelsPerTick, System.nanoTime());
+    }
+
+    // Aynı seed ile her çalıştırma aynı parcel dizisini üretir
+    public ParcelGenerator(String[] cityList, int minParcelsPerTick, int maxParcelsPerTick, long seed) {
+        this(new CityIndex(cityList), minParcelsPerTick, maxParcelsPerTick, seed);
+    }
+
+    // Parcel'lar şehir ordinal'ini taşır; motor kendi CityIndex'ini verir
+    public ParcelGenerator(CityIndex cities, int minParcelsPerTick, int maxParcelsPerTick, long seed) {
+        this.cities = cities;
+        this.minParcelsPerTick = minParcelsPerTick;
+        this.maxParcelsPerTick = maxParcelsPerTick;
+        this.seed = seed;
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    // Gönderilen parcel'ları yeniden kullanmak için (isteğe bağlı)
+    public void setPool(ParcelPool pool) {
+        this.pool = pool;
+    }
+
+    // Hub modunda her tick'in ID aralığından yalnızca ID % count == index olanlar üretilir;
+    // tüm hub'ların parcel'ları birlikte tek süreçteki akışın aynısıdır
+    public void setPartition(int index, int count) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid partition " + index + " of " + count);
+        }
+        this.partitionIndex = index;
+        this.partitionCount = count;
+    }
+
+    // Rastgele bir Parcel oluşturur
+    public Parcel generateSingleParcel(int currentTick) {
+        long id = parcelCounter.getAndIncrement();
+        Parcel[] one = new Parcel[1];
+        fill(one, 0, 1, id, currentTick);
+        return one[0];
+    }
+
+    // Bir tick için MIN..MAX arası parcel üretir.
+    // Sayı (seed, tick)'ten, her parcel'ın alanları (seed, parcel ID)'den türetilir;
+    // bu yüzden büyük tick'ler paralel parçalara bölünse de sonuç değişmez.
+    public Parcel[] generateParcelsForTick(int currentTick) {
+        int total = countForTick(currentTick);
+        long tickFirstId = parcelCounter.getAndAdd(total);
+        // Bölümün bu tick'teki ilk ID'si ve ID sayısı (bölüm yoksa tüm aralık)
+        long firstId = tickFirstId + Math.floorMod(partitionIndex - tickFirstId, (long) partitionCount);
+        int count = (int) Math.max(0, (tickFirstId + total - firstId + partitionCount - 1) / partitionCount);
+        Parcel[] parcels = new Parcel[count];
+
+        int partitions = Math.min(parallelism, count / MIN_PARTITION_SIZE);
+        if (partitions <= 1) {
+            fill(parcels, 0, count, firstId, currentTick);
+        } else {
+            IntStream.range(0, partitions).parallel().forEach(p -> {
+                int from = (int) ((long) count * p / partitions);
+                int to = (int) ((long) count * (p + 1) / partitions);
+                fill(parcels, from, to, firstId + (long) from * partitionCount, currentTick);
+            });
+        }
+        return parcels;
+    }
+
+    @Override
+    public Parcel[] parcelsForTick(int tick) {
+        return generateParcelsForTick(tick);
+    }
+
+    // Sayı yalnızca (seed, tick)'e bağlı olduğundan boş tick'ler parcel üretilmeden bulunur
+    @Override
+    public int nextArrivalTick(int fromTick, int limit) {
+        if (minParcelsPerTick > 0) {
+            return Math.min(fromTick, limit);
+        }
+        for (int tick = fromTick; tick < limit; tick++) {
+            if (countForTick(tick) > 0) {
+                return tick;
+            }
+        }
+        return limit;
+    }
+
+    private int countForTick(int tick) {
+        int range = maxParcelsPerTick - minParcelsPerTick + 1;
+        return minParcelsPerTick + SplitMix64.nextInt(SplitMix64.at(seed, ~(long) tick), range);
+    }
+
+    private void fill(Parcel[] parcels, int from, int to, long firstId, int currentTick) {
+        int reused = (pool != null) ? pool.acquire(parcels, from, to - from) : 0;
+        for (int i = from; i < to; i++) {
+            long id = firstId + (long) (i - from) * partitionCount;
+            long bits = SplitMix64.at(seed, id);
+            int cityId = SplitMix64.nextInt(bits, cities.size());
+            String destination = cities.nameOf(cityId);
+            int sizeAndPriority = SplitMix64.nextInt(SplitMix64.mix(bits), sizeList.length * 3);
+            Parcel.Size size = sizeList[sizeAndPriority / 3];
+            int priority = 1 + sizeAndPriority % 3; // 1, 2 veya 3
+
+            if (i - from < reused) {
+                parcels[i].reset(id, cityId, destination, priority, size, currentTick);
+            } else {
+                parcels[i] = new Parcel(id, cityId, destination, priority, size, currentTick);
+            }
+        }
+    }
+
+    // Toplam oluşturulan parcel sayısını verir (test amaçlı)
+    public long getTotalGeneratedCount() {
+        return parcelCounter.get();
+    }
+
+    // Checkpoint'ten devam ederken sayaç kaldığı yere alınır (seed aynı olmalı)
+    void restoreGeneratedCount(long count) {
+        parcelCounter.set(count);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,36 @@
+package main;
+
+// Gönderilen parcel nesnelerini yeniden kullanım için tutar.
+// Generator ve tracker aşaması farklı thread'lerde olabilir; kilit batch başına bir kez alınır.
+public class ParcelPool {
+    private final Parcel[] free;
+    private int size;
+
+    public ParcelPool(int capacity) {
+        this.free = new Parcel[capacity];
+    }
+
+    // dst[from, from + count) aralığını havuzdaki nesnelerle doldurur, doldurulan sayıyı döner
+    public synchronized int acquire(Parcel[] dst, int from, int count) {
+        int taken = Math.min(count, size);
+        for (int i = 0; i < taken; i++) {
+            dst[from + i] = free[--size];
+            free[size] = null;
+        }
+        return taken;
+    }
+
+    // Parcel artık hiçbir yapıda tutulmuyorsa havuza geri verilir; havuz doluysa GC'ye bırakılır
+    public synchronized void release(Iterable<Parcel> parcels) {
+        for (Parcel parcel : parcels) {
+            if (size == free.length) {
+                return;
+            }
+            free[size++] = parcel;
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+}
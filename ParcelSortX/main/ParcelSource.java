@@ -0,0 +1,15 @@
+package main;
+
+// Motorun her tick'te parcel aldığı kaynak: rastgele üretim (ParcelGenerator)
+// ya da kayıtlı bir manifestin yeniden oynatılması (ManifestReader)
+public interface ParcelSource {
+
+    // Tick'ler artan sırayla, her biri bir kez istenir; parcel yoksa boş dizi döner
+    Parcel[] parcelsForTick(int tick);
+
+    // fromTick ve sonrasında parcel gelen ilk tick; limit'ten önce yoksa limit döner.
+    // Olay tabanlı mod boş tick'leri bununla atlar; varsayılan: her tick'te parcel olabilir
+    default int nextArrivalTick(int fromTick, int limit) {
+        return Math.min(fromTick, limit);
+    }
+}
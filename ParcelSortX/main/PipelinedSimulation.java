@@ -0,0 +1,150 @@
+package main;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+// SimulationEngine aşamalarını ayrı thread'lerde, tick'ler üst üste binecek şekilde çalıştırır:
+//
+//   GENERATE --> BUFFER --> SORT+DISPATCH --> TRACK
+//
+// Her aşama tick'leri sırayla işler ve motorun tek thread'li aşama metotlarını aynen çağırır;
+// aşamaya ait durum (generator, ArrivalBuffer, DestinationSorter, ParcelTracker) yalnızca
+// o aşamanın thread'i tarafından değiştirilir. Bu yüzden sonuç, aynı seed ile tek thread'li
+// çalışmayla birebir aynıdır. SORT ve DISPATCH aynı thread'dedir: ikisi de sorter'ı değiştirir
+// ve bir tick'in iadeleri bir sonraki tick'in sıralamasına girer.
+public class PipelinedSimulation {
+    private static final int BATCHES_IN_FLIGHT = 8;
+
+    private final SimulationEngine engine;
+    private final BatchChannel toBuffer;
+    private final BatchChannel toSorter;
+    private final BatchChannel toTracker;
+    private final BatchChannel freeBatches;
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    public PipelinedSimulation(SimulationEngine engine) {
+        this.engine = engine;
+        int capacity = engine.getConfig().getQueueCapacity();
+        this.toBuffer = new BatchChannel(capacity);
+        this.toSorter = new BatchChannel(capacity);
+        this.toTracker = new BatchChannel(capacity);
+        this.freeBatches = new BatchChannel(BATCHES_IN_FLIGHT);
+    }
+
+    public void run() throws InterruptedException {
+        for (int i = 0; i < BATCHES_IN_FLIGHT; i++) {
+            freeBatches.put(new TickBatch(), 1);
+        }
+
+        int maxTicks = engine.getConfig().getMaxTicks();
+        int firstTick = engine.getClock().getCurrentTick();
+        Thread[] stages = {
+            new Thread(() -> generateLoop(firstTick, maxTicks), "pipeline-generate"),
+            new Thread(this::bufferLoop, "pipeline-buffer"),
+            new Thread(this::sortDispatchLoop, "pipeline-sort-dispatch"),
+            new Thread(this::trackLoop, "pipeline-track")
+        };
+
+        long start = System.nanoTime();
+        for (Thread stage : stages) {
+            stage.start();
+        }
+        try {
+            for (Thread stage : stages) {
+                stage.join();
+            }
+        } catch (InterruptedException e) {
+            for (Thread stage : stages) {
+                stage.interrupt();
+            }
+            throw e;
+        }
+        engine.addElapsedNanos(System.nanoTime() - start);
+
+        Throwable error = failure.get();
+        if (error != null) {
+            throw new IllegalStateException("Pipeline stage failed", error);
+        }
+    }
+
+    private void generateLoop(int firstTick, int maxTicks) {
+        try {
+            for (int tick = firstTick; tick < maxTicks && failure.get() == null; tick++) {
+                TickBatch batch = freeBatches.take();
+                if (batch == null) {
+                    break;
+                }
+                batch.reset(tick);
+                long t0 = System.nanoTime();
+                engine.generate(batch);
+                engine.addStageNanos(SimulationEngine.Stage.GENERATE, System.nanoTime() - t0);
+                toBuffer.put(batch, batch.generated.length);
+            }
+        } catch (Throwable e) {
+            fail(e);
+        } finally {
+            toBuffer.close();
+        }
+    }
+
+    private void bufferLoop() {
+        try {
+            TickBatch batch;
+            while ((batch = toBuffer.take()) != null) {
+                long t0 = System.nanoTime();
+                engine.buffer(batch);
+                engine.addStageNanos(SimulationEngine.Stage.BUFFER, System.nanoTime() - t0);
+                toSorter.put(batch, batch.arrived.size());
+            }
+        } catch (Throwable e) {
+            fail(e);
+        } finally {
+            toSorter.close();
+        }
+    }
+
+    private void sortDispatchLoop() {
+        try {
+            TickBatch batch;
+            while ((batch = toSorter.take()) != null) {
+                long t0 = System.nanoTime();
+                engine.sort(batch);
+                long t1 = System.nanoTime();
+                engine.dispatch(batch);
+                long t2 = System.nanoTime();
+                engine.addStageNanos(SimulationEngine.Stage.SORT, t1 - t0);
+                engine.addStageNanos(SimulationEngine.Stage.DISPATCH, t2 - t1);
+                toTracker.put(batch, batch.sorted.size());
+            }
+        } catch (Throwable e) {
+            fail(e);
+        } finally {
+            toTracker.close();
+        }
+    }
+
+    private void trackLoop() {
+        try {
+            TickBatch batch;
+            while ((batch = toTracker.take()) != null) {
+                long t0 = System.nanoTime();
+                engine.track(batch);
+                engine.addStageNanos(SimulationEngine.Stage.TRACK, System.nanoTime() - t0);
+                // Saat, tamamen işlenmiş son tick'i gösterir
+                engine.getClock().setCurrentTick(batch.tick + 1);
+                freeBatches.put(batch, 1);
+            }
+        } catch (Throwable e) {
+            fail(e);
+        }
+    }
+
+    private void fail(Throwable e) {
+        failure.compareAndSet(null, e);
+        // Bekleyen aşamaları serbest bırak
+        toBuffer.close();
+        toSorter.close();
+        toTracker.close();
+        freeBatches.close();
+    }
+}
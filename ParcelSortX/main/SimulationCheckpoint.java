@@ -0,0 +1,220 @@
+package main;
+
+import data_sturcts.ArrivalBuffer;
+import data_sturcts.CityIndex;
+import data_sturcts.DestinationSorter;
+import data_sturcts.ParcelTracker;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Simülasyonun tick sınırındaki tam durumu, Java serileştirmesi olmadan ikili formatta.
+//
+// Dosya: [durum bloğu uzunluğu (int)][durum bloğu][ParcelTracker bölümü]
+//   durum bloğu: magic, sürüm, seed, tick, günlük sırası, generator sayacı, motor sayaçları,
+//                ArrivalBuffer, şehir kuyrukları, iade yığını (ve reddedilen iade sayısı) ve
+//                terminal rotator'ları
+//   ParcelTracker bölümü: ParcelTracker.Snapshot.writeTo (sütun blokları)
+//
+// capture() tick thread'inde çalışır: küçük yapılar hemen kodlanır, tracker'dan ise
+// copy-on-write görünüm alınır (O(sayfa)). writeTo() arka planda çalışabilir.
+public class SimulationCheckpoint {
+    private static final int MAGIC = 0x50534331; // "PSC1"
+    private static final int VERSION = 3;
+    private static final Parcel.Size[] SIZES = Parcel.Size.values();
+    private static final Parcel.Status[] STATUSES = Parcel.Status.values();
+
+    private final int tick;
+    private final byte[] state;
+    private final ParcelTracker.Snapshot trackerSnapshot;
+
+    private SimulationCheckpoint(int tick, byte[] state, ParcelTracker.Snapshot trackerSnapshot) {
+        this.tick = tick;
+        this.state = state;
+        this.trackerSnapshot = trackerSnapshot;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    // Tick sınırında çağrılmalı (tek thread'li motor, runTick'ler arasında)
+    public static SimulationCheckpoint capture(SimulationEngine engine) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            CityIndex cities = engine.getCities();
+            EventJournal journal = engine.getJournal();
+            int tick = engine.getClock().getCurrentTick();
+
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(engine.getSeed());
+            out.writeInt(tick);
+            out.writeLong(journal != null ? journal.getRecordCount() : -1);
+            out.writeLong(engine.getGenerator().getTotalGeneratedCount());
+            out.writeLong(engine.getGeneratedParcels());
+            out.writeLong(engine.getDroppedParcels());
+            out.writeLong(engine.getDispatchedParcels());
+            out.writeLong(engine.getReturnedParcels());
+
+            ArrivalBuffer buffer = engine.getArrivalBuffer();
+            Parcel[] scratch = new Parcel[Math.max(16, buffer.size())];
+            writeParcels(out, cities, scratch, buffer.copyTo(scratch));
+
+            DestinationSorter sorter = engine.getSorter();
+            out.writeInt(cities.size());
+            for (int cityId = 0; cityId < cities.size(); cityId++) {
+                int count = sorter.countCityParcels(cityId);
+                if (scratch.length < count) {
+                    scratch = new Parcel[count];
+                }
+                writeParcels(out, cities, scratch, sorter.copyCityParcels(cityId, scratch));
+            }
+
+            if (scratch.length < engine.getReturnStack().size()) {
+                scratch = new Parcel[engine.getReturnStack().size()];
+            }
+            writeParcels(out, cities, scratch, engine.getReturnStack().copyTo(scratch));
+            out.writeLong(engine.getReturnStack().getRejectedCount());
+
+            out.writeInt(engine.getActiveTerminals());
+            for (int t = 0; t < engine.getActiveTerminals(); t++) {
+                engine.getRotator(t).writeState(out);
+            }
+            out.flush();
+            return new SimulationCheckpoint(tick, bytes.toByteArray(), engine.getTracker().snapshot());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // bellek içi akış, olmaması gerekir
+        }
+    }
+
+    // parcel başına 23 bayt
+    private static void writeParcels(DataOutputStream out, CityIndex cities, Parcel[] parcels, int count)
+            throws IOException {
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            Parcel parcel = parcels[i];
+            parcels[i] = null;
+            out.writeLong(parcel.getNumericID());
+            out.writeShort(cities.idOf(parcel));
+            out.writeByte(parcel.getPriority());
+            out.writeByte(parcel.getSize().ordinal());
+            out.writeInt(parcel.getArrivalTick());
+            out.writeInt(parcel.getDispatchTick());
+            out.writeShort(parcel.getReturnCount());
+            out.writeByte(parcel.getStatus().ordinal());
+        }
+    }
+
+    // Önce yanına geçici dosya yazılır, diske zorlanır, sonra atomik olarak yer değiştirilir;
+    // yazma sırasında öldürülen süreç önceki checkpoint'i bozmaz.
+    public void writeTo(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(4).putInt(state.length);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            ByteBuffer body = ByteBuffer.wrap(state);
+            while (body.hasRemaining()) {
+                channel.write(body);
+            }
+            trackerSnapshot.writeTo(channel);
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Yeni oluşturulmuş (hiç çalışmamış) motoru checkpoint'e getirir; dosya map edilerek okunur.
+    // Günlük ve tick raporu bağlıysa checkpoint'ten sonraki kayıtlar geri alınır: motor deterministik
+    // olduğundan kalan tick'ler aynı olayları yeniden üretir. Geri yüklenen tick'i döner.
+    public static int restore(SimulationEngine engine, Path file) throws IOException {
+        if (engine.getClock().getCurrentTick() != 0 || engine.getTracker().size() != 0) {
+            throw new IllegalStateException("Checkpoint can only be restored into a fresh engine");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int stateLength = in.getInt();
+            if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+                throw new IOException("Not a ParcelSortX checkpoint: " + file);
+            }
+            long seed = in.getLong();
+            if (seed != engine.getSeed()) {
+                throw new IllegalStateException("Checkpoint seed " + seed + " does not match SEED " + engine.getSeed());
+            }
+            int tick = in.getInt();
+            long journalSequence = in.getLong();
+            engine.getGenerator().restoreGeneratedCount(in.getLong());
+            engine.restoreCounters(in.getLong(), in.getLong(), in.getLong(), in.getLong());
+
+            CityIndex cities = engine.getCities();
+            for (Parcel parcel : readParcels(in, cities)) {
+                engine.getArrivalBuffer().enqueue(parcel);
+            }
+            int cityCount = in.getInt();
+            for (int cityId = 0; cityId < cityCount; cityId++) {
+                List<Parcel> parcels = readParcels(in, cities);
+                engine.getSorter().insertAll(parcels.toArray(new Parcel[0]), 0, parcels.size());
+            }
+            engine.getReturnStack().pushAll(readParcels(in, cities));
+            engine.getReturnStack().restoreRejectedCount(in.getLong());
+
+            int terminals = in.getInt();
+            if (terminals != engine.getActiveTerminals()) {
+                throw new IllegalStateException("Checkpoint has " + terminals + " terminals, ACTIVE_TERMINALS gives "
+                        + engine.getActiveTerminals());
+            }
+            for (int t = 0; t < terminals; t++) {
+                engine.getRotator(t).readState(in);
+            }
+            if (in.position() != 4 + stateLength) {
+                throw new IOException("Corrupt checkpoint state block: " + file);
+            }
+
+            engine.getTracker().readSnapshot(in);
+            engine.getClock().setCurrentTick(tick);
+
+            EventJournal journal = engine.getJournal();
+            if (journal != null && journalSequence >= 0) {
+                journal.rollbackTo(Math.min(journalSequence, journal.getRecordCount()));
+            }
+            TickReportWriter tickReport = engine.getTickReport();
+            if (tickReport != null) {
+                tickReport.rollbackTo(tick);
+            }
+            return tick;
+        }
+    }
+
+    private static List<Parcel> readParcels(ByteBuffer in, CityIndex cities) {
+        int count = in.getInt();
+        List<Parcel> parcels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = in.getLong();
+            int cityId = in.getShort();
+            int priority = in.get();
+            Parcel.Size size = SIZES[in.get()];
+            int arrivalTick = in.getInt();
+            int dispatchTick = in.getInt();
+            int returnCount = in.getShort();
+            Parcel parcel = new Parcel(id, cityId, cities.nameOf(cityId), priority, size, arrivalTick);
+            parcel.restoreState(STATUSES[in.get()], dispatchTick, returnCount);
+            parcels.add(parcel);
+        }
+        return parcels;
+    }
+}
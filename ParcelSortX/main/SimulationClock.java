@@ -0,0 +1,19 @@
+package main;
+
+// Simülasyonun paylaşılan tick saati.
+// Motor her tick sonunda ilerletir; ParcelTracker dispatchTick'i buradan okur.
+public class SimulationClock {
+    private volatile int currentTick;
+
+    public int getCurrentTick() {
+        return currentTick;
+    }
+
+    public void advance() {
+        currentTick++;
+    }
+
+    public void setCurrentTick(int tick) {
+        this.currentTick = tick;
+    }
+}
@@ -0,0 +1,621 @@
+package main;
+
+import data_sturcts.ArrivalBuffer;
+import data_sturcts.CityIndex;
+import data_sturcts.DestinationSorter;
+import data_sturcts.ParcelTracker;
+import data_sturcts.ParcelTracker.ParcelStatus;
+import data_sturcts.ReturnStack;
+import data_sturcts.TerminalRotator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+// Tick tabanlı simülasyon motoru: her tick'te
+// üret -> ArrivalBuffer -> DestinationSorter -> aktif terminallerden gönder -> ParcelTracker
+public class SimulationEngine {
+
+    // Toplam kamyon kapasitesi bunun altındaysa terminaller tek thread'de yüklenir
+    private static final int MIN_PARALLEL_DISPATCH = 1024;
+
+    public enum Stage {
+        GENERATE,
+        BUFFER,
+        SORT,
+        DISPATCH,
+        TRACK
+    }
+
+    // TICK: her tick sırayla işlenir. EVENT: saat EventScheduler'daki bir sonraki olaya atlar.
+    public enum TimeAdvance {
+        TICK,
+        EVENT
+    }
+
+    private final ConfigManager config;
+    private final SimulationClock clock = new SimulationClock();
+    private final CityIndex cities;
+    private final ArrivalBuffer arrivalBuffer;
+    private final DestinationSorter sorter;
+    private final ParcelTracker tracker;
+    private final int terminals;
+    private final TerminalRotator[] rotators; // terminal başına, yerel şehir ID'leri üzerinde
+    private final ParcelGenerator generator;
+    private ParcelSource source;
+    private final long misrouteSeed;
+    private final ParcelPool pool;
+
+    private final TickBatch batch = new TickBatch();
+    private final ReturnStack returnStack;
+    private Parcel[] reinjected = new Parcel[16];
+    private final Parcel[][] trucks;
+    private final int[] terminalCity;
+    private final int[] loaded;
+    private final Consumer<Parcel> arrivalSink = this::acceptArrival;
+    private TickBatch bufferingBatch;
+    private final EventScheduler scheduler = new EventScheduler();
+
+    // İstatistikler
+    private final long[] stageNanos = new long[Stage.values().length];
+    private final MetricsRegistry metrics = new MetricsRegistry();
+    private final MetricsRegistry.Histogram[] stageTimers = new MetricsRegistry.Histogram[Stage.values().length];
+    private final MetricsRegistry.Histogram bufferDepth;
+    private final MetricsRegistry.Counter generatedCounter;
+    private final MetricsRegistry.Counter dispatchedCounter;
+    private final MetricsRegistry.Counter returnedCounter;
+    private MetricsReporter metricsReporter;
+    private EventJournal journal;
+    private CheckpointWriter checkpointWriter;
+    private TickReportWriter tickReport;
+    private HubNode hub;
+    private long elapsedNanos;
+    private long generatedParcels;
+    private long droppedParcels;
+    private long dispatchedParcels;
+    private long returnedParcels;
+    private long idleTicks;
+
+    // Yapı göstergelerinin değerleri: track aşamasında (raporun yazıldığı thread) tick'in batch'inden
+    // kopyalanır. Pipeline modunda sorter ve iade yığınını başka aşamanın thread'i değiştirir.
+    private long gaugeOverflow;
+    private int gaugeBacklog;
+    private int gaugePendingReturns;
+    private final int[] gaugeCityBacklog;
+
+    public SimulationEngine(ConfigManager config) {
+        this(config, config.getSeed());
+    }
+
+    public SimulationEngine(ConfigManager config, long seed) {
+        this.config = config;
+        this.cities = new CityIndex(config.getCityList());
+        this.arrivalBuffer = new ArrivalBuffer(config.getQueueCapacity());
+        this.sorter = new DestinationSorter(cities);
+        // Şehirler terminallere cityId % K ile bölünür; terminal t'nin yerel ID'si cityId / K
+        this.terminals = Math.max(1, Math.min(config.getActiveTerminals(), cities.size()));
+        this.rotators = new TerminalRotator[terminals];
+        for (int t = 0; t < terminals; t++) {
+            rotators[t] = new TerminalRotator((cities.size() - t + terminals - 1) / terminals,
+                    config.getTerminalRotationInterval(), config.getTerminalRotationMode());
+        }
+        this.sorter.setLoadListener((cityId, load) ->
+                rotators[cityId % terminals].onLoadChanged(cityId / terminals, load));
+        this.tracker = new ParcelTracker(cities, config);
+        this.tracker.attachClock(clock);
+        this.generator = new ParcelGenerator(cities,
+                config.getParcelPerTickMin(), config.getParcelPerTickMax(), seed);
+        this.misrouteSeed = SplitMix64.mix(seed);
+        if (config.getParcelPoolSize() > 0) {
+            this.pool = new ParcelPool(config.getParcelPoolSize());
+            this.generator.setPool(pool);
+        } else {
+            this.pool = null;
+        }
+        this.source = generator;
+        this.trucks = new Parcel[terminals][config.getDispatchPerTick()];
+        this.terminalCity = new int[terminals];
+        this.loaded = new int[terminals];
+        this.returnStack = new ReturnStack(config.getMaxReturnCount());
+
+        for (Stage stage : Stage.values()) {
+            stageTimers[stage.ordinal()] = metrics.histogram("stage." + stage.name().toLowerCase() + ".micros");
+        }
+        this.bufferDepth = metrics.histogram("buffer.depth");
+        this.generatedCounter = metrics.counter("parcels.generated");
+        this.dispatchedCounter = metrics.counter("parcels.dispatched");
+        this.returnedCounter = metrics.counter("parcels.returned");
+        this.gaugeCityBacklog = new int[cities.size()];
+        registerGauges();
+    }
+
+    // Göstergeler yalnızca snapshot sırasında okunur; tracker track aşamasına aittir, diğerleri
+    // raporlanan tick'in batch değerlerini gösterir
+    private void registerGauges() {
+        metrics.gauge("buffer.overflow", () -> gaugeOverflow);
+        metrics.gauge("buffer.capacity", arrivalBuffer::getCapacity);
+        metrics.gauge("sorter.backlog", () -> gaugeBacklog);
+        for (int cityId = 0; cityId < cities.size(); cityId++) {
+            int id = cityId;
+            metrics.gauge("sorter.backlog." + cities.nameOf(id), () -> gaugeCityBacklog[id]);
+        }
+        metrics.gauge("returns.pending", () -> gaugePendingReturns);
+        metrics.gauge("tracker.size", tracker::size);
+        metrics.gauge("tracker.capacity", tracker::getCapacity);
+        metrics.gauge("tracker.loadFactor", tracker::getLoadFactor);
+        metrics.gauge("tracker.resizes", tracker::getResizeCount);
+    }
+
+    // Varsayılan kaynak ParcelGenerator; manifest oynatırken ManifestReader verilir
+    public void setParcelSource(ParcelSource source) {
+        this.source = source;
+    }
+
+    // Hub modu: parcel'lar hub'dan gelir, iadeler başka hub'lara yönlendirilir (yalnızca tek thread'li run)
+    public void setHub(HubNode hub) {
+        this.hub = hub;
+        this.source = hub;
+    }
+
+    // Her tick'in olayları track aşamasında günlüğe yazılır ve tick sonunda commit edilir
+    public void setJournal(EventJournal journal) {
+        this.journal = journal;
+    }
+
+    // Her CHECKPOINT_INTERVAL tick'te durum kopyalanıp arka planda yazılır (yalnızca tek thread'li run)
+    public void setCheckpointWriter(CheckpointWriter writer) {
+        this.checkpointWriter = writer;
+    }
+
+    // Her tick için bir satır (track aşamasında, batch'teki değerlerden)
+    public void setTickReport(TickReportWriter tickReport) {
+        this.tickReport = tickReport;
+    }
+
+    // Her METRICS_INTERVAL tick'te snapshot yazılır (track aşamasının sonunda)
+    public void setMetricsReporter(MetricsReporter reporter) {
+        this.metricsReporter = reporter;
+    }
+
+    // Saat MAX_TICKS'e ulaşana kadar çalıştırır (checkpoint'ten devam ederken kalan tick'ler)
+    public void run() {
+        long start = System.nanoTime();
+        if (config.getTimeAdvance() == TimeAdvance.EVENT) {
+            runEvents();
+        } else {
+            while (clock.getCurrentTick() < config.getMaxTicks()) {
+                runTick();
+            }
+        }
+        elapsedNanos += System.nanoTime() - start;
+    }
+
+    // Yalnızca olay olan tick'ler işlenir: parcel gelişi, iadelerin yeniden sıralanması ya da
+    // sorter'da bekleyen parcel. Bunların hiçbiri olmayan bir tick hiçbir yapıyı değiştirmez;
+    // tek etkisi ROUND_ROBIN rotasyonunun ilerlemesidir, o da atlanırken toplu uygulanır.
+    // Bu yüzden sonuçlar tick tick çalıştırmayla aynıdır (tick raporu yalnızca işlenen tick'leri içerir).
+    private void runEvents() {
+        int maxTicks = config.getMaxTicks();
+        scheduler.clear();
+        scheduleArrival(clock.getCurrentTick(), maxTicks);
+        scheduleFollowUps(clock.getCurrentTick()); // checkpoint'ten devam ederken bekleyenler olabilir
+        while (scheduler.peekTick() < maxTicks) {
+            int tick = scheduler.peekTick();
+            int types = scheduler.pollTick(tick);
+            skipIdleTicks(tick);
+            runTick();
+            if (EventScheduler.contains(types, EventScheduler.EventType.ARRIVAL)) {
+                scheduleArrival(tick + 1, maxTicks);
+            }
+            scheduleFollowUps(tick + 1);
+        }
+        skipIdleTicks(maxTicks);
+    }
+
+    private void scheduleArrival(int fromTick, int maxTicks) {
+        int tick = source.nextArrivalTick(fromTick, maxTicks);
+        if (tick < maxTicks) {
+            scheduler.schedule(tick, EventScheduler.EventType.ARRIVAL);
+        }
+    }
+
+    // İadeler ve bekleyen parcel'lar bir sonraki tick'te işlenir
+    private void scheduleFollowUps(int nextTick) {
+        if (!returnStack.isEmpty()) {
+            scheduler.schedule(nextTick, EventScheduler.EventType.RETURN);
+        }
+        if (sorter.getTotalParcels() > 0) {
+            scheduler.schedule(nextTick, EventScheduler.EventType.DISPATCH);
+        }
+    }
+
+    // Saati target'a atlatır; aradaki tick'lerde olay yoktur. Atlanan aralığa düşen metrik
+    // snapshot'ı ve checkpoint aralığın sonunda bir kez alınır.
+    private void skipIdleTicks(int target) {
+        int from = clock.getCurrentTick();
+        if (target <= from) {
+            return;
+        }
+        for (TerminalRotator rotator : rotators) {
+            rotator.skipIdleTicks(target - from);
+        }
+        idleTicks += target - from;
+        clock.setCurrentTick(target);
+
+        if (metricsReporter != null) {
+            int interval = config.getMetricsInterval();
+            int lastSnapshotTick = target / interval * interval - 1;
+            if (lastSnapshotTick >= from) {
+                metricsReporter.report(lastSnapshotTick);
+            }
+        }
+        if (checkpointWriter != null) {
+            checkpointWriter.onTicksCompleted(this, from);
+        }
+    }
+
+    public void runTick() {
+        batch.reset(clock.getCurrentTick());
+
+        long t0 = System.nanoTime();
+        generate(batch);
+        long t1 = System.nanoTime();
+        buffer(batch);
+        long t2 = System.nanoTime();
+        sort(batch);
+        long t3 = System.nanoTime();
+        dispatch(batch);
+        long t4 = System.nanoTime();
+        track(batch);
+        long t5 = System.nanoTime();
+
+        addStageNanos(Stage.GENERATE, t1 - t0);
+        addStageNanos(Stage.BUFFER, t2 - t1);
+        addStageNanos(Stage.SORT, t3 - t2);
+        addStageNanos(Stage.DISPATCH, t4 - t3);
+        addStageNanos(Stage.TRACK, t5 - t4);
+
+        clock.advance();
+        if (checkpointWriter != null) {
+            checkpointWriter.onTicksCompleted(this, batch.tick);
+        }
+    }
+
+    // 1) Bu tick'in parcel'larını üret
+    void generate(TickBatch batch) {
+        batch.generated = source.parcelsForTick(batch.tick);
+        generatedParcels += batch.generated.length;
+    }
+
+    // 2) ArrivalBuffer'a toplu ekle (kapasiteyi aşanlar atılır), sonra tick'in kabul edilenlerini al
+    void buffer(TickBatch batch) {
+        Parcel[] parcels = batch.generated;
+        int accepted = arrivalBuffer.enqueueAll(parcels);
+        batch.dropped = parcels.length - accepted;
+        droppedParcels += batch.dropped;
+        batch.bufferDepth = arrivalBuffer.size();
+        batch.bufferOverflow = arrivalBuffer.getOverflowCount();
+        bufferDepth.record(batch.bufferDepth);
+
+        bufferingBatch = batch;
+        arrivalBuffer.drainTo(arrivalSink, accepted);
+        bufferingBatch = null;
+    }
+
+    private void acceptArrival(Parcel parcel) {
+        bufferingBatch.arrived.add(parcel);
+    }
+
+    // 3) Önceki tick'in iadelerini tek toplu işlemle, sonra bu tick'in gelenlerini şehir kuyruklarına dağıt
+    void sort(TickBatch batch) {
+        if (!returnStack.isEmpty()) {
+            if (reinjected.length < returnStack.size()) {
+                reinjected = new Parcel[Math.max(returnStack.size(), reinjected.length * 2)];
+            }
+            int count = returnStack.popBatch(returnStack.size(), reinjected, 0);
+            for (int i = 0; i < count; i++) {
+                reinjected[i].setStatus(Parcel.Status.Sorted);
+                batch.sorted.add(reinjected[i]);
+            }
+            sorter.insertAll(reinjected, 0, count);
+            Arrays.fill(reinjected, 0, count, null);
+        }
+        for (int i = 0; i < batch.arrived.size(); i++) {
+            Parcel parcel = batch.arrived.get(i);
+            parcel.setStatus(Parcel.Status.Sorted);
+            sorter.insertParcel(parcel);
+            batch.sorted.add(parcel);
+        }
+    }
+
+    // 4) Her terminalin TerminalRotator'ı kendi bölümünden aktif şehri seçer (TERMINAL_ROTATION_MODE).
+    // Şehir kuyrukları bağımsız olduğundan terminaller paralel yüklenir; sonuçlar terminal sırasıyla
+    // birleştirilir, bu yüzden çıktı thread sayısından bağımsızdır.
+    void dispatch(TickBatch batch) {
+        for (int t = 0; t < terminals; t++) {
+            int local = rotators[t].nextTerminal();
+            terminalCity[t] = (local != TerminalRotator.NONE) ? local * terminals + t : TerminalRotator.NONE;
+        }
+
+        int tick = batch.tick;
+        if (terminals > 1 && terminals * trucks[0].length >= MIN_PARALLEL_DISPATCH) {
+            IntStream.range(0, terminals).parallel().forEach(t -> loadTruck(t, tick));
+        } else {
+            for (int t = 0; t < terminals; t++) {
+                loadTruck(t, tick);
+            }
+        }
+
+        for (int t = 0; t < terminals; t++) {
+            if (loaded[t] == 0) {
+                continue;
+            }
+            sorter.commitDetached(terminalCity[t], loaded[t]);
+            Parcel[] truck = trucks[t];
+            for (int i = 0; i < loaded[t]; i++) {
+                Parcel parcel = truck[i];
+                truck[i] = null;
+                if (parcel.getStatus() == Parcel.Status.Returned) {
+                    batch.returned.add(parcel);
+                } else {
+                    batch.dispatched.add(parcel);
+                }
+            }
+        }
+        // İadeler bir sonraki tick'te yeniden sıralanır; limiti aşanlar yığına alınmaz.
+        // Hub modunda önce yanlış gittikleri hub'a iletilir, geri döndüklerinde yığına girer.
+        if (hub != null) {
+            hub.routeReturns(batch.returned);
+        } else {
+            returnStack.pushAll(batch.returned);
+        }
+        dispatchedParcels += batch.dispatched.size();
+        returnedParcels += batch.returned.size();
+
+        // Sorter yalnızca bu aşamanın thread'inde okunabilir: rapor değerleri burada alınır
+        batch.backlog = sorter.getTotalParcels();
+        batch.pendingReturns = returnStack.size();
+        if (tickReport != null || metricsReporter != null) {
+            if (batch.cityBacklog == null) {
+                batch.cityBacklog = new int[cities.size()];
+            }
+            for (int cityId = 0; cityId < batch.cityBacklog.length; cityId++) {
+                batch.cityBacklog[cityId] = sorter.countCityParcels(cityId);
+            }
+        }
+    }
+
+    // Tek terminalin işi: şehrin kuyruğundan kamyonu doldurur ve her parcel için karar verir.
+    // Yalnızca o şehrin kuyruğuna ve kamyondaki parcel'lara dokunur.
+    private void loadTruck(int terminal, int tick) {
+        int cityId = terminalCity[terminal];
+        Parcel[] truck = trucks[terminal];
+        int count = (cityId != TerminalRotator.NONE)
+                ? sorter.detachBatch(cityId, truck.length, Integer.MAX_VALUE, truck, 0)
+                : 0;
+        for (int i = 0; i < count; i++) {
+            Parcel parcel = truck[i];
+            if (isMisrouted(parcel)) {
+                parcel.setStatus(Parcel.Status.Returned);
+                parcel.incrementReturnCount();
+            } else {
+                parcel.setStatus(Parcel.Status.Dispatched);
+                parcel.setDispatchTick(tick);
+            }
+        }
+        loaded[terminal] = count;
+    }
+
+    // Karar (seed, parcel ID, iade sayısı)'ndan türetilir; hangi thread'in işlediğine bağlı değildir
+    private boolean isMisrouted(Parcel parcel) {
+        long bits = SplitMix64.at(SplitMix64.at(misrouteSeed, parcel.getNumericID()), parcel.getReturnCount());
+        return SplitMix64.nextDouble(bits) < config.getMisroutingRate();
+    }
+
+    // 5) Tick'in tüm durum değişikliklerini ParcelTracker'a sırayla uygula
+    void track(TickBatch batch) {
+        for (Parcel parcel : batch.arrived) {
+            tracker.insert(parcel, ParcelStatus.IN_QUEUE);
+        }
+        for (Parcel parcel : batch.sorted) {
+            tracker.updateStatus(parcel.getNumericID(), ParcelStatus.SORTED, batch.tick);
+        }
+        for (Parcel parcel : batch.dispatched) {
+            tracker.updateStatus(parcel.getNumericID(), ParcelStatus.DISPATCHED, batch.tick);
+            if (tickReport != null) {
+                tickReport.recordDispatchDelay(batch.tick - parcel.getArrivalTick());
+            }
+        }
+        for (Parcel parcel : batch.returned) {
+            tracker.updateStatus(parcel.getNumericID(), ParcelStatus.RETURNED, batch.tick);
+            tracker.incrementReturnCount(parcel.getNumericID());
+        }
+
+        if (journal != null) {
+            journalTick(batch);
+        }
+        if (tickReport != null) {
+            tickReport.write(batch);
+        }
+
+        // Gönderilen parcel'lar artık hiçbir yapıda değil: nesneleri yeniden kullanılabilir
+        if (pool != null) {
+            pool.release(batch.dispatched);
+        }
+
+        // Sayaçlar da burada artar: snapshot yalnızca raporlanan tick'e kadar olanları içerir
+        generatedCounter.add(batch.generated.length);
+        dispatchedCounter.add(batch.dispatched.size());
+        returnedCounter.add(batch.returned.size());
+        if (metricsReporter != null) {
+            gaugeOverflow = batch.bufferOverflow;
+            gaugeBacklog = batch.backlog;
+            gaugePendingReturns = batch.pendingReturns;
+            System.arraycopy(batch.cityBacklog, 0, gaugeCityBacklog, 0, gaugeCityBacklog.length);
+            if ((batch.tick + 1) % config.getMetricsInterval() == 0) {
+                metricsReporter.report(batch.tick);
+            }
+        }
+    }
+
+    private void journalTick(TickBatch batch) {
+        journalEvents(batch.tick, batch.arrived, EventJournal.EventType.ARRIVED);
+        journalEvents(batch.tick, batch.sorted, EventJournal.EventType.SORTED);
+        journalEvents(batch.tick, batch.dispatched, EventJournal.EventType.DISPATCHED);
+        journalEvents(batch.tick, batch.returned, EventJournal.EventType.RETURNED);
+        journal.commit();
+        int syncInterval = config.getJournalSyncInterval();
+        if (syncInterval > 0 && (batch.tick + 1) % syncInterval == 0) {
+            journal.sync();
+        }
+    }
+
+    // Terminal, şehrin bölümünü yöneten terminaldir (cityId % ACTIVE_TERMINALS)
+    private void journalEvents(int tick, List<Parcel> parcels, EventJournal.EventType type) {
+        for (int i = 0; i < parcels.size(); i++) {
+            Parcel parcel = parcels.get(i);
+            int cityId = cities.idOf(parcel);
+            journal.append(tick, parcel.getNumericID(), type, cityId, cityId % terminals);
+        }
+    }
+
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append("\n===+ Simulation Summary +===\n");
+        summary.append(String.format("Ticks Simulated: %d\n", clock.getCurrentTick()));
+        if (config.getTimeAdvance() == TimeAdvance.EVENT) {
+            summary.append(String.format("Idle Ticks Skipped: %d\n", idleTicks));
+        }
+        summary.append(String.format("Parcels Generated: %d\n", generatedParcels));
+        summary.append(String.format("Dropped (Buffer Overflow): %d\n", droppedParcels));
+        summary.append(String.format("Dispatched: %d\n", dispatchedParcels));
+        summary.append(String.format("Returns (Misrouted): %d\n", returnedParcels));
+        summary.append(String.format("Waiting in Sorter: %d\n", sorter.getTotalParcels()));
+        summary.append(String.format("Pending Returns: %d\n", returnStack.size()));
+        summary.append(String.format("Return Limit Exceeded: %d\n", returnStack.getRejectedCount()));
+        summary.append(String.format("Busiest City: %s\n", sorter.getBusiestCity()));
+        summary.append(String.format("Active Terminals: %d\n", terminals));
+
+        double seconds = elapsedNanos / 1e9;
+        summary.append(String.format("\nElapsed: %.3f ms\n", elapsedNanos / 1e6));
+        if (seconds > 0) {
+            summary.append(String.format("Throughput: %.0f parcels/sec\n", generatedParcels / seconds));
+        }
+        summary.append("\nStage Timings:\n");
+        long stageTotal = 0;
+        for (long nanos : stageNanos) {
+            stageTotal += nanos;
+        }
+        for (Stage stage : Stage.values()) {
+            long nanos = stageNanos[stage.ordinal()];
+            summary.append(String.format("  %-9s %10.3f ms (%5.1f%%)\n", stage, nanos / 1e6,
+                    stageTotal > 0 ? 100.0 * nanos / stageTotal : 0.0));
+        }
+        summary.append("===+ End Summary +===\n");
+        return summary.toString();
+    }
+
+    public long getStageNanos(Stage stage) {
+        return stageNanos[stage.ordinal()];
+    }
+
+    // Pipeline modunda her aşama thread'i kendi süresini ekler (her indeksi tek thread yazar)
+    void addStageNanos(Stage stage, long nanos) {
+        stageNanos[stage.ordinal()] += nanos;
+        stageTimers[stage.ordinal()].record((int) Math.min(Integer.MAX_VALUE, nanos / 1000));
+    }
+
+    void addElapsedNanos(long nanos) {
+        elapsedNanos += nanos;
+    }
+
+    ConfigManager getConfig() {
+        return config;
+    }
+
+    // Checkpoint erişimi (SimulationCheckpoint)
+    CityIndex getCities() {
+        return cities;
+    }
+
+    ParcelGenerator getGenerator() {
+        return generator;
+    }
+
+    ReturnStack getReturnStack() {
+        return returnStack;
+    }
+
+    EventJournal getJournal() {
+        return journal;
+    }
+
+    TickReportWriter getTickReport() {
+        return tickReport;
+    }
+
+    long getSeed() {
+        return generator.getSeed();
+    }
+
+    void restoreCounters(long generated, long dropped, long dispatched, long returned) {
+        generatedParcels = generated;
+        droppedParcels = dropped;
+        dispatchedParcels = dispatched;
+        returnedParcels = returned;
+    }
+
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getGeneratedParcels() {
+        return generatedParcels;
+    }
+
+    public long getDispatchedParcels() {
+        return dispatchedParcels;
+    }
+
+    public long getReturnedParcels() {
+        return returnedParcels;
+    }
+
+    // EVENT modunda işlenmeden atlanan tick sayısı
+    public long getIdleTicks() {
+        return idleTicks;
+    }
+
+    public long getDroppedParcels() {
+        return droppedParcels;
+    }
+
+    public SimulationClock getClock() {
+        return clock;
+    }
+
+    public ParcelTracker getTracker() {
+        return tracker;
+    }
+
+    public DestinationSorter getSorter() {
+        return sorter;
+    }
+
+    public int getActiveTerminals() {
+        return terminals;
+    }
+
+    public TerminalRotator getRotator(int terminal) {
+        return rotators[terminal];
+    }
+
+    public ArrivalBuffer getArrivalBuffer() {
+        return arrivalBuffer;
+    }
+}
@@ -0,0 +1,32 @@
+package main;
+
+// SplitMix64 (SplittableRandom'un çekirdeği) üzerine durumsuz rastgele sayı yardımcıları.
+// Aynı (seed, anahtar) her zaman aynı değeri verir; bu yüzden sonuç hangi thread'in
+// hangi sırayla ürettiğine bağlı değildir.
+public final class SplitMix64 {
+    public static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private SplitMix64() {
+    }
+
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // seed akışının key'inci değeri
+    public static long at(long seed, long key) {
+        return mix(seed + (key + 1) * GOLDEN_GAMMA);
+    }
+
+    // [0, bound) aralığında tamsayı (üst 32 bit ile çarpma yöntemi)
+    public static int nextInt(long bits, int bound) {
+        return (int) (((bits >>> 32) * bound) >>> 32);
+    }
+
+    // [0, 1) aralığında double
+    public static double nextDouble(long bits) {
+        return (bits >>> 11) * 0x1.0p-53;
+    }
+}
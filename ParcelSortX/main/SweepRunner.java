@@ -0,0 +1,289 @@
+package main;
+
+import data_sturcts.TrackerStatistics;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// Parametre taraması: temel config + ızgara tanımı -> her kombinasyon için ayrı bir simülasyon.
+//
+// Tanım satırları (dosyada ya da addAxis ile):
+//   QUEUE_CAPACITY=1000|5000|20000       değer listesi
+//   MISROUTING_RATE=0.0..0.2:0.05        aralık (başlangıç..bitiş:adım, adım verilmezse 1)
+//
+// Her senaryo kendi ConfigManager'ı (withOverrides) ve SimulationEngine'i ile hiçbir şey
+// paylaşmadan çalışır; senaryolar iş çalan bir ForkJoinPool'da tüm çekirdeklere dağıtılır.
+// Dosyaya yazan çıktılar (metrics, günlük, checkpoint) senaryolarda kapatılır.
+public class SweepRunner {
+    private static final String[] DISABLED_OUTPUTS = { "METRICS_FILE", "JOURNAL_DIR", "CHECKPOINT_FILE" };
+
+    // Bir senaryonun özet metrikleri
+    public static final class Result {
+        final int scenario;
+        final Map<String, String> parameters;
+        long generated;
+        long dropped;
+        long dispatched;
+        long returned;
+        long backlog;
+        double averageDelay;
+        int p99Delay;
+        long elapsedNanos;
+        String error;
+
+        Result(int scenario, Map<String, String> parameters) {
+            this.scenario = scenario;
+            this.parameters = parameters;
+        }
+
+        public int getScenario() {
+            return scenario;
+        }
+
+        public Map<String, String> getParameters() {
+            return parameters;
+        }
+
+        public long getDispatched() {
+            return dispatched;
+        }
+
+        public long getDropped() {
+            return dropped;
+        }
+
+        public double getAverageDelay() {
+            return averageDelay;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+
+    private final ConfigManager base;
+    private final Map<String, List<String>> axes = new LinkedHashMap<>();
+    private final int parallelism;
+
+    public SweepRunner(ConfigManager base) {
+        this(base, Runtime.getRuntime().availableProcessors());
+    }
+
+    public SweepRunner(ConfigManager base, int parallelism) {
+        this.base = base;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public static SweepRunner fromFile(ConfigManager base, String specPath) throws IOException {
+        SweepRunner runner = new SweepRunner(base);
+        try (BufferedReader reader = new BufferedReader(new FileReader(specPath))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    runner.addAxis(line);
+                }
+            }
+        }
+        return runner;
+    }
+
+    // "KEY=değerler" satırı
+    public void addAxis(String spec) {
+        String[] parts = spec.split("=", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid sweep line: " + spec);
+        }
+        addAxis(parts[0], parseValues(parts[1]));
+    }
+
+    // Anahtar ve değerler hemen doğrulanır: yazım hatası taramayı başlamadan durdurur
+    public void addAxis(String key, List<String> values) {
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("No values for sweep key " + key);
+        }
+        for (String value : values) {
+            base.withOverrides(Collections.singletonMap(key, value));
+        }
+        axes.put(key.trim().toUpperCase(), values);
+    }
+
+    // "a|b|c" ya da "from..to[:step]"; aralık BigDecimal ile adımlanır (0.1 + 0.2 kayması olmaz)
+    static List<String> parseValues(String spec) {
+        spec = spec.trim();
+        int dots = spec.indexOf("..");
+        List<String> values = new ArrayList<>();
+        if (dots < 0) {
+            for (String value : spec.split("\\|")) {
+                if (!value.trim().isEmpty()) {
+                    values.add(value.trim());
+                }
+            }
+            return values;
+        }
+        int colon = spec.indexOf(':', dots);
+        BigDecimal from = new BigDecimal(spec.substring(0, dots).trim());
+        BigDecimal to = new BigDecimal(spec.substring(dots + 2, colon < 0 ? spec.length() : colon).trim());
+        BigDecimal step = (colon < 0) ? BigDecimal.ONE : new BigDecimal(spec.substring(colon + 1).trim());
+        if (step.signum() <= 0) {
+            throw new IllegalArgumentException("Sweep step must be positive: " + spec);
+        }
+        for (BigDecimal v = from; v.compareTo(to) <= 0; v = v.add(step)) {
+            values.add(v.stripTrailingZeros().toPlainString());
+        }
+        return values;
+    }
+
+    // Eksenlerin kartezyen çarpımı, tanım sırasıyla (son eksen en hızlı değişir)
+    public List<Map<String, String>> scenarios() {
+        List<Map<String, String>> scenarios = new ArrayList<>();
+        scenarios.add(new LinkedHashMap<>());
+        for (Map.Entry<String, List<String>> axis : axes.entrySet()) {
+            List<Map<String, String>> next = new ArrayList<>(scenarios.size() * axis.getValue().size());
+            for (Map<String, String> scenario : scenarios) {
+                for (String value : axis.getValue()) {
+                    Map<String, String> extended = new LinkedHashMap<>(scenario);
+                    extended.put(axis.getKey(), value);
+                    next.add(extended);
+                }
+            }
+            scenarios = next;
+        }
+        return scenarios;
+    }
+
+    // Tüm senaryoları çalıştırır; sonuçlar senaryo sırasıyla döner (hata veren senaryo error alanıyla)
+    public List<Result> run() throws InterruptedException {
+        List<Map<String, String>> scenarios = scenarios();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ForkJoinTask<Result>> tasks = new ArrayList<>(scenarios.size());
+            for (int i = 0; i < scenarios.size(); i++) {
+                int scenario = i;
+                tasks.add(pool.submit(() -> runScenario(scenario, scenarios.get(scenario))));
+            }
+            List<Result> results = new ArrayList<>(tasks.size());
+            for (ForkJoinTask<Result> task : tasks) {
+                try {
+                    results.add(task.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Sweep scenario failed", e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Result runScenario(int scenario, Map<String, String> parameters) {
+        Result result = new Result(scenario, parameters);
+        Map<String, String> overrides = new LinkedHashMap<>(parameters);
+        for (String key : DISABLED_OUTPUTS) {
+            overrides.put(key, "");
+        }
+        try {
+            ConfigManager config = base.withOverrides(overrides);
+            SimulationEngine engine = new SimulationEngine(config);
+            if (config.getManifestFile() != null) {
+                try (ManifestReader manifest = new ManifestReader(Paths.get(config.getManifestFile()),
+                        engine.getCities())) {
+                    engine.setParcelSource(manifest);
+                    engine.run();
+                }
+            } else {
+                engine.run();
+            }
+
+            TrackerStatistics stats = engine.getTracker().getRunningStatistics();
+            result.generated = engine.getGeneratedParcels();
+            result.dropped = engine.getDroppedParcels();
+            result.dispatched = engine.getDispatchedParcels();
+            result.returned = engine.getReturnedParcels();
+            result.backlog = engine.getSorter().getTotalParcels();
+            result.averageDelay = stats.getAverageProcessingTime();
+            result.p99Delay = stats.getDelayPercentile(99.0);
+            result.elapsedNanos = engine.getElapsedNanos();
+        } catch (RuntimeException | IOException e) {
+            result.error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+        return result;
+    }
+
+    private List<String> header() {
+        List<String> header = new ArrayList<>();
+        header.add("scenario");
+        header.addAll(axes.keySet());
+        header.addAll(Arrays.asList("generated", "dropped", "dispatched", "returned", "backlog",
+                "avg_delay", "p99_delay", "elapsed_ms", "error"));
+        return header;
+    }
+
+    private List<String> row(Result result) {
+        List<String> row = new ArrayList<>();
+        row.add(Integer.toString(result.scenario));
+        for (String key : axes.keySet()) {
+            row.add(result.parameters.get(key));
+        }
+        row.add(Long.toString(result.generated));
+        row.add(Long.toString(result.dropped));
+        row.add(Long.toString(result.dispatched));
+        row.add(Long.toString(result.returned));
+        row.add(Long.toString(result.backlog));
+        row.add(String.format(Locale.ROOT, "%.2f", result.averageDelay));
+        row.add(Integer.toString(result.p99Delay));
+        row.add(String.format(Locale.ROOT, "%.1f", result.elapsedNanos / 1e6));
+        row.add(result.error != null ? result.error : "");
+        return row;
+    }
+
+    // Sütunları hizalanmış sonuç tablosu
+    public String toTable(List<Result> results) {
+        List<List<String>> rows = new ArrayList<>();
+        rows.add(header());
+        for (Result result : results) {
+            rows.add(row(result));
+        }
+        int[] widths = new int[rows.get(0).size()];
+        for (List<String> row : rows) {
+            for (int c = 0; c < row.size(); c++) {
+                widths[c] = Math.max(widths[c], row.get(c).length());
+            }
+        }
+        StringBuilder table = new StringBuilder();
+        for (List<String> row : rows) {
+            for (int c = 0; c < row.size() - 1; c++) {
+                table.append(String.format("%-" + (widths[c] + 2) + "s", row.get(c)));
+            }
+            table.append(row.get(row.size() - 1)).append('\n');
+        }
+        return table.toString();
+    }
+
+    public void writeCsv(List<Result> results, Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println(String.join(",", header()));
+            for (Result result : results) {
+                List<String> row = row(result);
+                row.set(row.size() - 1, row.get(row.size() - 1).replace(',', ';'));
+                out.println(String.join(",", row));
+            }
+        }
+    }
+}
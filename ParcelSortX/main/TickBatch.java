@@ -0,0 +1,40 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Bir tick boyunca aşamalar arasında taşınan parcel listeleri.
+// ParcelTracker güncellemeleri tek tek değil, tick sonunda bu listelerden toplu uygulanır.
+public class TickBatch {
+    int tick;
+    Parcel[] generated;
+    final List<Parcel> arrived = new ArrayList<>();    // ArrivalBuffer'a kabul edilenler
+    final List<Parcel> sorted = new ArrayList<>();     // DestinationSorter'a girenler
+    final List<Parcel> dispatched = new ArrayList<>(); // doğru terminalden çıkanlar
+    final List<Parcel> returned = new ArrayList<>();   // yanlış yönlendirilip geri dönenler
+    int dropped;                                       // buffer taşması ile atılanlar
+    int channelParcels;                                // BatchChannel'da sayılan ağırlık
+    int bufferDepth;                                   // ekleme sonrası ArrivalBuffer doluluğu
+    long bufferOverflow;                               // ekleme sonrası toplam taşma sayısı
+    int backlog;                                       // gönderim sonrası sorter'da bekleyen
+    int pendingReturns;                                // gönderim sonrası iade yığını
+    int[] cityBacklog;                                 // şehir başına bekleyen (tick raporu ya da metrikler açıksa)
+
+    void reset(int tick) {
+        this.tick = tick;
+        generated = null;
+        arrived.clear();
+        sorted.clear();
+        dispatched.clear();
+        returned.clear();
+        dropped = 0;
+        bufferDepth = 0;
+        bufferOverflow = 0;
+        backlog = 0;
+        pendingReturns = 0;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+}
@@ -0,0 +1,142 @@
+package main;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// TickReportWriter dosyasını okur ve report.txt özetini üretir
+public class TickReportReader {
+
+    // Her satır için çağrılır; row dizisi yeniden kullanılır (sütun sırası getColumnNames ile)
+    public interface RowVisitor {
+        void visit(int[] row);
+    }
+
+    private final Path file;
+    private final List<String> columnNames = new ArrayList<>();
+
+    public TickReportReader(Path file) throws IOException {
+        this.file = file;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            in.order(ByteOrder.LITTLE_ENDIAN);
+            readHeader(in);
+        }
+    }
+
+    private void readHeader(MappedByteBuffer in) throws IOException {
+        if (in.remaining() < 8 || in.getInt() != TickReportWriter.MAGIC) {
+            throw new IOException("Not a tick report file: " + file);
+        }
+        int count = in.getInt();
+        columnNames.clear();
+        for (int c = 0; c < count; c++) {
+            byte[] name = new byte[in.getShort()];
+            in.get(name);
+            columnNames.add(new String(name, StandardCharsets.UTF_8));
+        }
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    // Satırları sırayla ziyaret eder, okunan satır sayısını döner
+    public long readAll(RowVisitor visitor) throws IOException {
+        long rows = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            in.order(ByteOrder.LITTLE_ENDIAN);
+            readHeader(in);
+            int columns = columnNames.size();
+            int[] row = new int[columns];
+            int[][] block = new int[columns][];
+            while (in.remaining() >= 4) {
+                int n = in.getInt();
+                if (in.remaining() < (long) n * columns * 4) {
+                    break; // yarım yazılmış son blok
+                }
+                IntBuffer ints = in.asIntBuffer();
+                for (int c = 0; c < columns; c++) {
+                    if (block[c] == null || block[c].length < n) {
+                        block[c] = new int[Math.max(n, TickReportWriter.BLOCK_ROWS)];
+                    }
+                    ints.get(block[c], 0, n);
+                }
+                in.position(in.position() + n * columns * 4);
+                for (int r = 0; r < n; r++) {
+                    for (int c = 0; c < columns; c++) {
+                        row[c] = block[c][r];
+                    }
+                    visitor.visit(row);
+                }
+                rows += n;
+            }
+        }
+        return rows;
+    }
+
+    // Sütun başına toplam (yalnızca sayaçlar) / ortalama / en küçük / en büyük (ve en büyüğün tick'i), ardından
+    // tracker istatistikleri
+    public static void summarize(Path tickFile, Path reportFile, String trackerStatistics) throws IOException {
+        TickReportReader reader = new TickReportReader(tickFile);
+        int columns = reader.getColumnNames().size();
+        long[] sums = new long[columns];
+        int[] mins = new int[columns];
+        int[] maxs = new int[columns];
+        int[] maxTicks = new int[columns];
+        Arrays.fill(mins, Integer.MAX_VALUE);
+        Arrays.fill(maxs, Integer.MIN_VALUE);
+        int[] tickRange = { Integer.MAX_VALUE, Integer.MIN_VALUE };
+        long rows = reader.readAll(row -> {
+            for (int c = 0; c < columns; c++) {
+                int value = row[c];
+                sums[c] += value;
+                mins[c] = Math.min(mins[c], value);
+                if (value > maxs[c]) {
+                    maxs[c] = value;
+                    maxTicks[c] = row[0];
+                }
+            }
+            tickRange[0] = Math.min(tickRange[0], row[0]);
+            tickRange[1] = Math.max(tickRange[1], row[0]);
+        });
+
+        try (BufferedWriter out = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+            out.write("===+ ParcelSortX Tick Report +===\n");
+            if (rows == 0) {
+                out.write("No ticks recorded\n");
+            } else {
+                out.write(String.format(Locale.ROOT, "Ticks: %d (%d..%d)%n%n", rows, tickRange[0], tickRange[1]));
+                int nameWidth = 12;
+                for (String name : reader.getColumnNames()) {
+                    nameWidth = Math.max(nameWidth, name.length());
+                }
+                String format = "%-" + nameWidth + "s %14s %12s %10s %10s %10s%n";
+                out.write(String.format(Locale.ROOT, format, "column", "total", "mean", "min", "max", "max@tick"));
+                for (int c = 1; c < columns; c++) {
+                    String name = reader.getColumnNames().get(c);
+                    out.write(String.format(Locale.ROOT, format, name,
+                            TickReportWriter.isCounter(name) ? Long.toString(sums[c]) : "-",
+                            String.format(Locale.ROOT, "%.2f", (double) sums[c] / rows), mins[c], maxs[c],
+                            maxTicks[c]));
+                }
+            }
+            if (trackerStatistics != null) {
+                out.write(trackerStatistics);
+                out.write("\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package main;
+
+import data_sturcts.CityIndex;
+import data_sturcts.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Her tick için bir satır yazar; dosya sütun bloklu ikili formattadır (little-endian):
+//   başlık: magic (int), sütun sayısı (int), her sütun için ad (short uzunluk + UTF-8)
+//   blok:   satır sayısı n (int), sonra her sütun için n adet int, art arda
+//
+// Satırlar yeniden kullanılan int sütun dizilerine yazılır (nesne/String yok). Blok dolunca
+// arka plandaki yazıcı thread'e verilir ve tick döngüsü diğer bloğa geçer (çift tampon);
+// yazıcı önceki bloğu henüz bitirmediyse yalnızca o zaman beklenir.
+// Checkpoint'ten devam ederken mevcut dosya açılır ve rollbackTo ile checkpoint tick'ine kırpılır.
+public class TickReportWriter implements AutoCloseable {
+    static final int MAGIC = 0x50535431; // "PST1"
+    static final int BLOCK_ROWS = 1024;
+
+    // Sabit sütunlar; ardından şehir başına "backlog.<şehir>"
+    static final String[] FIXED_COLUMNS = {
+        "tick", "generated", "arrived", "dropped", "buffer_depth", "sorted", "dispatched", "returned",
+        "backlog", "pending_returns", "delay_p50", "delay_p99", "delay_max"
+    };
+    private static final int FIXED = FIXED_COLUMNS.length;
+    // Tick içinde olan olay sayıları (toplamı anlamlı); diğerleri anlık değerlerdir
+    private static final List<String> COUNTERS = Arrays.asList("generated", "arrived", "dropped", "sorted",
+            "dispatched", "returned");
+
+    static boolean isCounter(String column) {
+        return COUNTERS.contains(column);
+    }
+
+    private static final class Block {
+        final int[][] columns;
+        int rows;
+
+        Block(int columnCount) {
+            columns = new int[columnCount][BLOCK_ROWS];
+        }
+    }
+
+    private final FileChannel channel;
+    private final int columnCount;
+    private final long headerBytes;
+    private final ByteBuffer encoded; // yalnızca yazıcı thread'i kullanır
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "tick-report-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final LatencyHistogram tickDelays = new LatencyHistogram();
+
+    private Block current;
+    private Block spare;
+    private Future<?> inFlight;
+    private long rowCount;
+
+    public TickReportWriter(Path file, CityIndex cities) throws IOException {
+        this(file, cities, false);
+    }
+
+    // resume: dosya varsa sütunları aynı olmalıdır; yazma mevcut satırların sonundan sürer
+    public TickReportWriter(Path file, CityIndex cities, boolean resume) throws IOException {
+        List<String> names = new ArrayList<>(Arrays.asList(FIXED_COLUMNS));
+        for (int cityId = 0; cityId < cities.size(); cityId++) {
+            names.add("backlog." + cities.nameOf(cityId));
+        }
+        this.columnCount = names.size();
+        this.current = new Block(columnCount);
+        this.spare = new Block(columnCount);
+        this.encoded = ByteBuffer.allocateDirect(4 + columnCount * BLOCK_ROWS * 4).order(ByteOrder.LITTLE_ENDIAN);
+
+        ByteBuffer header = ByteBuffer.allocate(8 + names.stream().mapToInt(n -> 2 + n.length() * 3).sum())
+                .order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(columnCount);
+        for (String name : names) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            header.putShort((short) bytes.length).put(bytes);
+        }
+        header.flip();
+        this.headerBytes = header.remaining();
+
+        if (resume && Files.exists(file) && Files.size(file) > 0) {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            ByteBuffer existing = ByteBuffer.allocate(header.remaining());
+            while (existing.hasRemaining() && channel.read(existing) >= 0) {
+                // başlık okunuyor
+            }
+            existing.flip();
+            if (!existing.equals(header)) {
+                channel.close();
+                throw new IOException("Tick report " + file + " has different columns, cannot resume it");
+            }
+            channel.position(channel.size());
+        } else {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            writeFully(header);
+        }
+    }
+
+    // Checkpoint'ten devam ederken: tick ve sonrasına ait satırlar atılır (kalan tick'ler onları
+    // yeniden üretir). Kesilen bloğun önceki satırları yeni bloğa alınır; yarım yazılmış son blok
+    // (yazma sırasında çökme) da atılır.
+    void rollbackTo(int tick) throws IOException {
+        if (rowCount != current.rows || inFlight != null) {
+            throw new IllegalStateException("Tick report can only be rolled back before the first write");
+        }
+        long position = headerBytes;
+        long end = channel.size();
+        long kept = 0;
+        ByteBuffer count = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        current.rows = 0;
+        while (position + 4 <= end) {
+            count.clear();
+            readFully(count, position);
+            int n = count.getInt(0);
+            long blockBytes = 4 + (long) n * columnCount * 4;
+            if (n <= 0 || n > BLOCK_ROWS || position + blockBytes > end) {
+                break;
+            }
+            ByteBuffer block = ByteBuffer.allocate((int) blockBytes - 4).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(block, position + 4);
+            int keep = 0;
+            while (keep < n && block.getInt(keep * 4) < tick) {
+                keep++;
+            }
+            if (keep < n) {
+                // Sütun c'nin satır r'si: (c * n + r) * 4
+                for (int c = 0; c < columnCount; c++) {
+                    for (int r = 0; r < keep; r++) {
+                        current.columns[c][r] = block.getInt((c * n + r) * 4);
+                    }
+                }
+                current.rows = keep;
+                kept += keep;
+                break;
+            }
+            kept += n;
+            position += blockBytes;
+        }
+        channel.truncate(position);
+        channel.position(position);
+        rowCount = kept;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of tick report");
+            }
+        }
+    }
+
+    // Track aşaması gönderilen parcel'ları zaten dolaşırken çağırır (parcel'lar ikinci kez gezilmez)
+    void recordDispatchDelay(int delay) {
+        tickDelays.record(delay);
+    }
+
+    // Track aşamasında, tick'in gecikmeleri kaydedildikten sonra çağrılır; diğer değerler
+    // batch'ten okunur (pipeline'da da güvenli)
+    void write(TickBatch batch) {
+        int row = current.rows;
+        int[][] columns = current.columns;
+        columns[0][row] = batch.tick;
+        columns[1][row] = batch.generated.length;
+        columns[2][row] = batch.arrived.size();
+        columns[3][row] = batch.dropped;
+        columns[4][row] = batch.bufferDepth;
+        columns[5][row] = batch.sorted.size();
+        columns[6][row] = batch.dispatched.size();
+        columns[7][row] = batch.returned.size();
+        columns[8][row] = batch.backlog;
+        columns[9][row] = batch.pendingReturns;
+
+        columns[10][row] = tickDelays.getValueAtPercentile(50.0);
+        columns[11][row] = tickDelays.getValueAtPercentile(99.0);
+        columns[12][row] = tickDelays.getMaxValue();
+        tickDelays.reset();
+        for (int c = FIXED; c < columnCount; c++) {
+            columns[c][row] = batch.cityBacklog[c - FIXED];
+        }
+
+        current.rows++;
+        rowCount++;
+        if (current.rows == BLOCK_ROWS) {
+            submitCurrent();
+        }
+    }
+
+    private void submitCurrent() {
+        awaitInFlight();
+        Block full = current;
+        current = spare;
+        spare = full;
+        inFlight = executor.submit(() -> writeBlock(full));
+    }
+
+    private void writeBlock(Block block) {
+        encoded.clear();
+        encoded.putInt(block.rows);
+        for (int c = 0; c < columnCount; c++) {
+            encoded.asIntBuffer().put(block.columns[c], 0, block.rows);
+            encoded.position(encoded.position() + block.rows * 4);
+        }
+        encoded.flip();
+        try {
+            writeFully(encoded);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write tick report", e);
+        }
+        block.rows = 0;
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // Yazma bitmeden dönülmez: blok hâlâ kodlanırken spare olarak geri verilirse üzerine yazılırdı.
+    // Bekleme sırasında gelen interrupt yutulmaz, bekleme bittikten sonra bayrak geri konur.
+    private void awaitInFlight() {
+        if (inFlight == null) {
+            return;
+        }
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    inFlight.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tick report write failed", e.getCause());
+        } finally {
+            inFlight = null;
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    // Yarım blok yazılır, dosya kapatılır
+    @Override
+    public void close() throws IOException {
+        try {
+            if (current.rows > 0) {
+                submitCurrent();
+            }
+            awaitInFlight();
+        } finally {
+            executor.shutdown();
+            channel.close();
+        }
+    }
+}